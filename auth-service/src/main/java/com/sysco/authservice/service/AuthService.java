@@ -1,6 +1,8 @@
 package com.sysco.authservice.service;
 
 import com.sysco.authservice.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -12,13 +14,18 @@ public class AuthService {
 
     private final Map<String, String> users = new HashMap<>();
     private final JwtService jwtService;
+    private final Timer tokenIssue;
 
     public AuthService(
             JwtService jwtService,
+            MeterRegistry meterRegistry,
             @Value("${app.auth.demo-user.username}") String demoUsername,
             @Value("${app.auth.demo-user.password}") String demoPassword
     ) {
         this.jwtService = jwtService;
+        this.tokenIssue = Timer.builder("auth.token.issue")
+                .description("Time to sign an access token")
+                .register(meterRegistry);
         users.put(demoUsername, demoPassword);
     }
 
@@ -28,7 +35,7 @@ public class AuthService {
             throw new IllegalArgumentException("Invalid username or password");
         }
 
-        return jwtService.generateToken(username);
+        return tokenIssue.record(() -> jwtService.generateToken(username));
     }
 
     public long getTokenTtlSeconds() {
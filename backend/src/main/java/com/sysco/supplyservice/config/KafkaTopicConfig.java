@@ -0,0 +1,26 @@
+package com.sysco.supplyservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Declares orders-topic so it is created (or grown) with enough partitions for the
+ * warehouse consumer's concurrency — an auto-created topic would get a single partition.
+ */
+@Configuration
+public class KafkaTopicConfig {
+
+    @Bean
+    public NewTopic ordersTopic(
+            @Value("${app.kafka.orders-topic.partitions:6}") int partitions,
+            @Value("${app.kafka.orders-topic.replicas:1}") int replicas
+    ) {
+        return TopicBuilder.name("orders-topic")
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+}
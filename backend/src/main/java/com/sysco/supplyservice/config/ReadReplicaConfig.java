@@ -0,0 +1,76 @@
+package com.sysco.supplyservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the auto-configured DataSource when app.datasource.replica.url is set:
+ * spring.datasource becomes the "primary" pool, the replica gets its own "replica"
+ * pool, and read-only transactions are routed between them by ReadReplicaDataSource.
+ * Without the property nothing here is created and every query goes to spring.datasource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadReplicaDataSource readReplicaDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.datasource.replica.connection-timeout:1s}") Duration connectionTimeout,
+            @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery
+    ) {
+        // Same settings as the auto-configured pool, spring.datasource.hikari included
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        // A replica that is down must not fail startup or hold a read for the default 30s
+        replica.setInitializationFailTimeout(-1);
+        replica.setConnectionTimeout(connectionTimeout.toMillis());
+
+        // hikaricp.*{pool=primary|replica}; set before first use, which starts the pools
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        primary.setMetricsTrackerFactory(metrics);
+        replica.setMetricsTrackerFactory(metrics);
+
+        return new ReadReplicaDataSource(primary, replica,
+                lagQuery.isBlank() ? ReadReplicaDataSource.POSTGRES_LAG_QUERY : lagQuery, maxLag, meterRegistry);
+    }
+
+    // What JPA, Flyway and JdbcTemplate get
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaDataSource readReplicaDataSource) {
+        return readReplicaDataSource.routingDataSource();
+    }
+}
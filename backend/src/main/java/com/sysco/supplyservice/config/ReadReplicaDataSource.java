@@ -0,0 +1,154 @@
+package com.sysco.supplyservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Connections for read-only transactions when a read replica is configured (see
+ * ReadReplicaConfig).
+ *
+ * routingDataSource() is what the application uses: a LazyConnectionDataSourceProxy that
+ * only opens a connection at the first statement, once Spring has marked it read-only.
+ * Read-only transactions — @Transactional(readOnly = true), e.g. the OrderRepository
+ * projections behind GET /api/orders — get their connection here; everything else,
+ * including Flyway, writes and the OrderCache loader behind GET /api/orders/{id},
+ * goes to the primary.
+ *
+ * Reads go to the replica only while it is usable: reachable, and at most max-lag behind
+ * as measured by lag-query every lag-check-interval. Otherwise, and as soon as a replica
+ * connection cannot be opened, they fall back to the primary until the next check passes.
+ * A read may therefore trail a write by up to max-lag.
+ *
+ * Metrics:
+ *  - hikaricp.*{pool=primary|replica}         each pool (acquire time, active, pending)
+ *  - datasource.reads{route=replica|primary}  read-only connections handed out, by target
+ *  - datasource.replica.lag                   seconds behind the primary at the last check
+ *  - datasource.replica.usable                1 while reads go to the replica
+ */
+public class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    // PostgreSQL standby: seconds since the last replayed transaction, or 0 once everything
+    // received has been replayed (an idle primary writes nothing) or if it is not a standby
+    static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    // Off until the first lag check passes
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReadReplicaDataSource(HikariDataSource primary, HikariDataSource replica, String lagQuery,
+                                 Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.replicaReads = readsCounter(meterRegistry, "replica");
+        this.primaryReads = readsCounter(meterRegistry, "primary");
+        Gauge.builder("datasource.replica.lag", this, d -> d.lagSeconds)
+                .description("Seconds the read replica is behind the primary (NaN if unreachable)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, d -> d.replicaUsable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    private static Counter readsCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("datasource.reads")
+                .description("Connections handed out for read-only transactions")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    // Primary for everything, this for connections that are read-only before first use
+    public DataSource routingDataSource() {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(this);
+        return proxy;
+    }
+
+    // ── Read-only connections ─────────────────────────────────────────────
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicaUsable) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException | RuntimeException ex) {
+                markUnusable("connection failed: " + ex.getMessage());
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    // ── Lag check ─────────────────────────────────────────────────────────
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:5s}")
+    public void checkLag() {
+        double lag;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            lag = rs.next() ? rs.getDouble(1) : 0;
+        } catch (SQLException | RuntimeException ex) {
+            lagSeconds = Double.NaN;
+            markUnusable("lag check failed: " + ex.getMessage());
+            return;
+        }
+        lagSeconds = lag;
+        if (lag * 1000 > maxLag.toMillis()) {
+            markUnusable("lag " + lag + "s exceeds " + maxLag.toSeconds() + "s");
+        } else if (!replicaUsable) {
+            replicaUsable = true;
+            log.info("Read replica usable (lag {}s), routing read-only transactions to it", lag);
+        }
+    }
+
+    private void markUnusable(String reason) {
+        if (replicaUsable) {
+            log.warn("Read replica unusable ({}), routing reads to the primary", reason);
+        }
+        replicaUsable = false;
+    }
+
+    boolean replicaUsable() {
+        return replicaUsable;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
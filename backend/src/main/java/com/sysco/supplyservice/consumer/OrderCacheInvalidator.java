@@ -0,0 +1,53 @@
+package com.sysco.supplyservice.consumer;
+
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.event.OrderEventType;
+import com.sysco.supplyservice.service.OrderCache;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps OrderCache coherent across instances: every status event on orders-topic
+ * evicts that order from this instance's cache.
+ *
+ * Each instance joins its own consumer group (random suffix), so it receives every
+ * partition rather than a share of them, and starts from the log end — entries older
+ * than the cache TTL need no replay. Events for this instance's own writes arrive
+ * here too; evicting them again is harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "app.orders.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderCacheInvalidator.class);
+
+    private final OrderCache orderCache;
+
+    public OrderCacheInvalidator(OrderCache orderCache) {
+        this.orderCache = orderCache;
+    }
+
+    @KafkaListener(topics = "orders-topic", groupId = "order-cache-${random.uuid}", batch = "true",
+            properties = "auto.offset.reset=latest")
+    public void onEvents(List<ConsumerRecord<String, OrderEvent>> records) {
+        Set<Long> changed = new HashSet<>();
+        for (ConsumerRecord<String, OrderEvent> record : records) {
+            OrderEvent event = record.value();
+            if (event != null && event.type() == OrderEventType.ORDER_STATUS_UPDATE) {
+                changed.add(event.orderId());
+            }
+        }
+        if (!changed.isEmpty()) {
+            orderCache.invalidate(changed);
+            log.debug("ORDER CACHE: evicted {} orders on status events", changed.size());
+        }
+    }
+}
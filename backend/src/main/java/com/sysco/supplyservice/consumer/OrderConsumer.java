@@ -1,29 +1,157 @@
 package com.sysco.supplyservice.consumer;
 
+import com.sysco.supplyservice.event.OrderEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.*;
+
 /**
- * Kafka consumer — listens to the "orders-topic" and simulates warehouse processing.
+ * Kafka consumer — listens to the "orders-topic" and feeds new orders into the
+ * WarehousePipeline, which advances them PENDING → PROCESSING → SHIPPED.
+ *
+ * Batch listener: each poll delivers up to max-poll-records events. Within a batch,
+ * events are split into worker lanes by order key — every event for one order goes
+ * to the same lane and is handled in offset order, while different orders are handled
+ * in parallel. The listener returns (and the container commits the batch's offsets)
+ * only once every lane has finished.
  *
- * Uses SLF4J logger instead of System.out.println so messages:
- *  - Include timestamps and log levels (INFO, ERROR, etc.)
- *  - Are written to the log file (logs/supply-service.log)
- *  - Can be filtered/searched in production monitoring tools
+ * Metrics:
+ *  - warehouse.events.consumed   counter of events handled (throughput)
+ *  - warehouse.batch.duration    time to handle one polled batch
+ *  - warehouse.event.latency     publish-to-handle delay per event
+ *  - warehouse.consumer.lag      records behind the log end, summed over assigned partitions
  */
 @Service
 public class OrderConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(OrderConsumer.class);
 
-    @KafkaListener(topics = "orders-topic", groupId = "warehouse-group")
-    public void consumeOrder(String message) {
-        log.info("================================================");
-        log.info("WAREHOUSE: Received Kafka message");
-        log.info("Message: {}", message);
-        log.info("Action: Preparing item for shipment...");
-        log.info("================================================");
+    private final Optional<WarehousePipeline> pipeline;
+    private final int lanes;
+    private final ExecutorService workers;
+    private final Counter consumed;
+    private final Timer batchDuration;
+    private final Timer eventLatency;
+    private final Map<TopicPartition, Long> lagByPartition = new ConcurrentHashMap<>();
+
+    public OrderConsumer(MeterRegistry meterRegistry, Optional<WarehousePipeline> pipeline,
+                         @Value("${app.warehouse.consumer.lanes:4}") int lanes,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.pipeline = pipeline;
+        this.lanes = lanes;
+        // Lanes block on the pipeline queue and on JDBC; virtual threads need no pool
+        this.workers = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("warehouse-lane-", 0).factory())
+                : Executors.newFixedThreadPool(lanes, Thread.ofPlatform().name("warehouse-lane-", 0).factory());
+        this.consumed = Counter.builder("warehouse.events.consumed")
+                .description("Order events handled by the warehouse consumer")
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("warehouse.batch.duration")
+                .description("Time to handle one polled batch")
+                .register(meterRegistry);
+        this.eventLatency = Timer.builder("warehouse.event.latency")
+                .description("Delay between publish and warehouse handling")
+                .register(meterRegistry);
+        Gauge.builder("warehouse.consumer.lag", lagByPartition, m -> m.values().stream().mapToLong(Long::longValue).sum())
+                .description("Records behind the log end on assigned partitions")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = "orders-topic", groupId = "warehouse-group", batch = "true",
+            concurrency = "${app.warehouse.consumer.concurrency:3}")
+    public void consumeOrders(List<ConsumerRecord<String, OrderEvent>> records, Consumer<?, ?> consumer) {
+        batchDuration.record(() -> handleBatch(records));
+        recordLag(consumer);
+    }
+
+    void handleBatch(List<ConsumerRecord<String, OrderEvent>> records) {
+        List<List<ConsumerRecord<String, OrderEvent>>> byLane = new ArrayList<>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            byLane.add(new ArrayList<>());
+        }
+        for (ConsumerRecord<String, OrderEvent> record : records) {
+            byLane.get(laneFor(record.key())).add(record);
+        }
+
+        List<Future<?>> pending = new ArrayList<>(lanes);
+        for (List<ConsumerRecord<String, OrderEvent>> lane : byLane) {
+            if (!lane.isEmpty()) {
+                pending.add(workers.submit(() -> lane.forEach(this::handleRecord)));
+            }
+        }
+        awaitAll(pending);
+        log.debug("WAREHOUSE: handled batch of {} events across {} lanes", records.size(), pending.size());
+    }
+
+    private void handleRecord(ConsumerRecord<String, OrderEvent> record) {
+        OrderEvent event = record.value();
+        if (event == null) {
+            // Undecodable value (ErrorHandlingDeserializer already logged the cause)
+            log.warn("WAREHOUSE: skipping unreadable record at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            return;
+        }
+        handle(event);
+        consumed.increment();
+        eventLatency.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - record.timestamp())));
+    }
+
+    // Warehouse action for one event: new orders enter the processing pipeline
+    void handle(OrderEvent event) {
+        log.debug("WAREHOUSE: {} order id={} status={}", event.type(), event.orderId(), event.status());
+        pipeline.ifPresent(p -> p.accept(event));
+    }
+
+    private int laneFor(String key) {
+        return key == null ? 0 : Math.floorMod(key.hashCode(), lanes);
+    }
+
+    private static void awaitAll(List<Future<?>> pending) {
+        try {
+            for (Future<?> f : pending) {
+                f.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while handling order events", ex);
+        } catch (ExecutionException ex) {
+            // Let the container's error handler retry the batch; offsets are not committed
+            throw new IllegalStateException("Warehouse lane failed: " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    // Each container thread owns its own partitions, so entries never collide
+    private void recordLag(Consumer<?, ?> consumer) {
+        if (consumer == null) {
+            return;
+        }
+        for (TopicPartition tp : consumer.assignment()) {
+            OptionalLong lag = consumer.currentLag(tp);
+            if (lag.isPresent()) {
+                lagByPartition.put(tp, lag.getAsLong());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
     }
 }
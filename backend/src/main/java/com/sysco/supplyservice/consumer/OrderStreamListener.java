@@ -0,0 +1,37 @@
+package com.sysco.supplyservice.consumer;
+
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.service.OrderEventBroadcaster;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Feeds every event on orders-topic to OrderEventBroadcaster, which pushes them to
+ * this instance's GET /api/orders/stream clients.
+ *
+ * Like OrderCacheInvalidator, each instance joins its own consumer group so it sees
+ * every partition, and starts from the log end: clients connected here only need
+ * events from now on, and the broadcaster's replay window covers reconnects.
+ */
+@Component
+public class OrderStreamListener {
+
+    private final OrderEventBroadcaster broadcaster;
+
+    public OrderStreamListener(OrderEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @KafkaListener(topics = "orders-topic", groupId = "order-stream-${random.uuid}", batch = "true",
+            properties = "auto.offset.reset=latest")
+    public void onEvents(List<ConsumerRecord<String, OrderEvent>> records) {
+        for (ConsumerRecord<String, OrderEvent> record : records) {
+            if (record.value() != null) {
+                broadcaster.publish(record.value(), record.partition(), record.offset());
+            }
+        }
+    }
+}
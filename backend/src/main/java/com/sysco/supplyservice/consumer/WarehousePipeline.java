@@ -0,0 +1,250 @@
+package com.sysco.supplyservice.consumer;
+
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.event.OrderEventType;
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Automated warehouse processing behind OrderConsumer.
+ *
+ *   ORDER_PLACED ──▶ [processing queue] ──▶ PENDING→PROCESSING
+ *                                      ──▶ [shipping queue]   ──▶ PROCESSING→SHIPPED
+ *
+ * Each stage has a bounded queue and its own worker threads. A worker takes whatever
+ * is queued (up to batch-size ids) and applies the transition to all of them with one
+ * set-based UPDATE through OrderService.transitionOrders, which also writes the status
+ * events to the outbox. Only the ids that really moved are passed to the next stage,
+ * so cancelled or manually advanced orders drop out on their own.
+ *
+ * Backpressure: when a queue is full, submit() blocks. For the first stage that is the
+ * Kafka listener thread, so the consumer simply stops polling until the warehouse
+ * catches up instead of buffering without bound.
+ *
+ * Workers are virtual threads when spring.threads.virtual.enabled is set; they spend
+ * their time blocked on the queue and on the UPDATE.
+ *
+ * On shutdown the stages stop accepting work and drain what is already queued, in
+ * pipeline order. The queues are in memory and the Kafka offset is committed once an
+ * order is queued, so a hard crash loses what was waiting, and a failed flush drops
+ * its batch. recoverStalled() covers both: it re-queues orders that have been PENDING
+ * or PROCESSING for longer than recovery.stalled-after.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warehouse.pipeline.enabled", havingValue = "true", matchIfMissing = true)
+public class WarehousePipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(WarehousePipeline.class);
+
+    private final OrderService orderService;
+    private final Duration stalledAfter;
+    private final int recoveryBatchSize;
+    private final Stage shipping;
+    private final Stage processing;
+
+    public WarehousePipeline(
+            OrderService orderService,
+            MeterRegistry meterRegistry,
+            @Value("${app.warehouse.pipeline.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.warehouse.pipeline.batch-size:500}") int batchSize,
+            @Value("${app.warehouse.pipeline.processing.workers:2}") int processingWorkers,
+            @Value("${app.warehouse.pipeline.shipping.workers:2}") int shippingWorkers,
+            @Value("${app.warehouse.pipeline.recovery.stalled-after:5m}") Duration stalledAfter,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.orderService = orderService;
+        this.stalledAfter = stalledAfter;
+        // At most half a queue per sweep, so recovery never crowds out live orders
+        this.recoveryBatchSize = Math.max(1, queueCapacity / 2);
+        Thread.Builder threads = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        this.shipping = new Stage("shipping", OrderStatus.PROCESSING, OrderStatus.SHIPPED, null,
+                orderService, meterRegistry, queueCapacity, batchSize, shippingWorkers, threads);
+        this.processing = new Stage("processing", OrderStatus.PENDING, OrderStatus.PROCESSING, shipping,
+                orderService, meterRegistry, queueCapacity, batchSize, processingWorkers, threads);
+    }
+
+    // Entry point from OrderConsumer; blocks while the processing queue is full
+    public void accept(OrderEvent event) {
+        if (event.type() == OrderEventType.ORDER_PLACED) {
+            processing.submit(event.orderId());
+        }
+    }
+
+    // ── Recovery of stalled orders ────────────────────────────────────────
+    // Runs at startup (initial delay 0) and then on a fixed delay. Re-queueing an order
+    // that is still on its way is harmless: the conditional UPDATE moves it only once.
+    @Scheduled(fixedDelayString = "${app.warehouse.pipeline.recovery.interval:1m}")
+    public void recoverStalled() {
+        LocalDateTime updatedBefore = LocalDateTime.now().minus(stalledAfter);
+        try {
+            processing.requeue(orderService.findStalledOrderIds(
+                    OrderStatus.PENDING, updatedBefore, recoveryBatchSize));
+            shipping.requeue(orderService.findStalledOrderIds(
+                    OrderStatus.PROCESSING, updatedBefore, recoveryBatchSize));
+        } catch (RuntimeException ex) {
+            log.warn("WAREHOUSE: stalled order recovery failed, retrying next run: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        processing.stop();
+        shipping.stop();
+    }
+
+    // ── One pipeline stage ────────────────────────────────────────────────
+    private static final class Stage {
+
+        private static final long POLL_MILLIS = 100;
+
+        private final String name;
+        private final OrderStatus fromStatus;
+        private final OrderStatus toStatus;
+        private final Stage next;
+        private final OrderService orderService;
+        private final BlockingQueue<Long> queue;
+        private final int batchSize;
+        private final List<Thread> workers = new ArrayList<>();
+        private final Counter moved;
+        private final Counter skipped;
+        private final Counter failed;
+        private final Counter requeued;
+        private final Timer flushDuration;
+        private volatile boolean running = true;
+
+        Stage(String name, OrderStatus fromStatus, OrderStatus toStatus, Stage next, OrderService orderService,
+              MeterRegistry meterRegistry, int queueCapacity, int batchSize, int workerCount, Thread.Builder threads) {
+            this.name = name;
+            this.fromStatus = fromStatus;
+            this.toStatus = toStatus;
+            this.next = next;
+            this.orderService = orderService;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.batchSize = batchSize;
+
+            Gauge.builder("warehouse.pipeline.queue.depth", queue, BlockingQueue::size)
+                    .description("Orders waiting in a pipeline stage")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+            this.moved = counter(meterRegistry, "moved");
+            this.skipped = counter(meterRegistry, "skipped");
+            this.failed = counter(meterRegistry, "failed");
+            this.requeued = counter(meterRegistry, "requeued");
+            this.flushDuration = Timer.builder("warehouse.pipeline.flush.duration")
+                    .description("Time to apply one set-based transition")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(threads
+                        .name("warehouse-" + name + "-" + i)
+                        .start(this::work));
+            }
+        }
+
+        private Counter counter(MeterRegistry meterRegistry, String outcome) {
+            return Counter.builder("warehouse.pipeline.orders")
+                    .description("Orders handled by a pipeline stage")
+                    .tag("stage", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        void submit(Long orderId) {
+            try {
+                queue.put(orderId);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing order id=" + orderId + " for " + name, ex);
+            }
+        }
+
+        // Queues what fits without blocking; the rest is found again by the next sweep
+        void requeue(List<Long> orderIds) {
+            if (!running) {
+                return;
+            }
+            int queued = 0;
+            for (Long orderId : orderIds) {
+                if (!queue.offer(orderId)) {
+                    break;
+                }
+                queued++;
+            }
+            if (queued > 0) {
+                requeued.increment(queued);
+                log.info("WAREHOUSE: re-queued {} stalled {} orders for {}", queued, fromStatus, name);
+            }
+        }
+
+        private void work() {
+            List<Long> batch = new ArrayList<>(batchSize);
+            // Keeps draining after stop() until the queue is empty
+            while (running || !queue.isEmpty()) {
+                try {
+                    Long first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    flush(batch);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void flush(List<Long> batch) {
+            List<Long> movedIds;
+            try {
+                movedIds = flushDuration.recordCallable(() -> orderService.transitionOrders(batch, fromStatus, toStatus));
+            } catch (Exception ex) {
+                // The orders keep their current status; nothing downstream sees them
+                failed.increment(batch.size());
+                log.error("WAREHOUSE: {} stage failed for {} orders: {}", name, batch.size(), ex.getMessage());
+                return;
+            }
+            moved.increment(movedIds.size());
+            skipped.increment(batch.size() - movedIds.size());
+            if (next != null) {
+                movedIds.forEach(next::submit);
+            }
+        }
+
+        void stop() {
+            running = false;
+            for (Thread worker : workers) {
+                try {
+                    worker.join();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            log.info("WAREHOUSE: {} stage stopped", name);
+        }
+    }
+}
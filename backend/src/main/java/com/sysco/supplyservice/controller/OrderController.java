@@ -1,15 +1,28 @@
 package com.sysco.supplyservice.controller;
 
+import com.sysco.supplyservice.dto.OrderBatchResponse;
+import com.sysco.supplyservice.dto.OrderBulkStatusRequest;
+import com.sysco.supplyservice.dto.OrderBulkStatusResponse;
+import com.sysco.supplyservice.dto.OrderPage;
 import com.sysco.supplyservice.dto.OrderRequest;
 import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.dto.OrderStatusSummary;
+import com.sysco.supplyservice.service.OrderEventBroadcaster;
+import com.sysco.supplyservice.service.OrderExportService;
 import com.sysco.supplyservice.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -18,10 +31,17 @@ import java.util.Map;
  *
  * Endpoints:
  *   POST   /api/orders                      → Place a new order (201)
- *   GET    /api/orders                      → Get all orders
+ *   POST   /api/orders/batch                → Place many orders (201, or 207 if any rejected)
+ *   GET    /api/orders                      → Get orders, one page at a time
  *   GET    /api/orders?status=PENDING       → Filter orders by status
+ *   GET    /api/orders?cursor=...&limit=100 → Next page (cursor from X-Next-Cursor)
+ *   GET    /api/orders/search?q=bolt        → Search by item name (prefix, or mode=fuzzy), paged
+ *   GET    /api/orders/export               → Stream every order as NDJSON
+ *   GET    /api/orders/summary              → Order count per status (served from memory)
+ *   GET    /api/orders/stream               → Server-Sent Events: new orders and status changes
  *   GET    /api/orders/{id}                 → Get one order by ID
- *   PATCH  /api/orders/{id}/status          → Update order status
+ *   PATCH  /api/orders/{id}/status          → Update order status (409 if not allowed)
+ *   PATCH  /api/orders/status               → Update many orders (200, or 207 if any rejected)
  */
 @RestController
 @RequestMapping("/api/orders")
@@ -29,10 +49,20 @@ public class OrderController {
 
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderEventBroadcaster orderEventBroadcaster;
+    private final long exportTimeoutMillis;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderExportService orderExportService,
+                           OrderEventBroadcaster orderEventBroadcaster,
+                           @Value("${app.orders.export.timeout:2h}") Duration exportTimeout) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.orderEventBroadcaster = orderEventBroadcaster;
+        this.exportTimeoutMillis = exportTimeout.toMillis();
     }
 
     // ── POST /api/orders ───────────────────────────────────────────────────
@@ -42,17 +72,85 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(orderService.placeOrder(request));
     }
 
-    // ── GET /api/orders[?status=PENDING] ──────────────────────────────────
+    // ── POST /api/orders/batch ─────────────────────────────────────────────
+    // Body: [ { "itemName": "...", "quantity": 1 }, ... ] — validated per entry
+    @PostMapping("/batch")
+    public ResponseEntity<OrderBatchResponse> createOrders(@RequestBody List<OrderRequest> requests) {
+        log.info("POST /api/orders/batch — {} orders", requests.size());
+        OrderBatchResponse response = orderService.placeOrders(requests);
+        HttpStatus status = response.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    // ── GET /api/orders[?status=PENDING][&cursor=...][&limit=50] ──────────
+    // The body stays a plain JSON array; the token for the next page is returned
+    // in the X-Next-Cursor header and is absent on the last page.
     @GetMapping
     public ResponseEntity<List<OrderResponse>> getOrders(
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
+        OrderPage page;
         if (status != null && !status.isBlank()) {
-            log.info("GET /api/orders?status={}", status);
-            return ResponseEntity.ok(orderService.getOrdersByStatus(status));
+            log.info("GET /api/orders?status={} — cursor={}, limit={}", status, cursor, limit);
+            page = orderService.getOrdersByStatus(status, cursor, limit);
+        } else {
+            log.info("GET /api/orders — cursor={}, limit={}", cursor, limit);
+            page = orderService.getAllOrders(cursor, limit);
         }
-        log.info("GET /api/orders — all");
-        return ResponseEntity.ok(orderService.getAllOrders());
+        return toPageResponse(page);
+    }
+
+    // ── GET /api/orders/search?q=bolt[&mode=fuzzy][&status=..][&from=..][&to=..] ─
+    // Paged like GET /api/orders: the next page's cursor comes back in X-Next-Cursor.
+    // from/to are ISO dates or date-times bounding createdAt, to exclusive.
+    @GetMapping("/search")
+    public ResponseEntity<List<OrderResponse>> searchOrders(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("GET /api/orders/search?q={} — mode={}, status={}, from={}, to={}, cursor={}, limit={}",
+                q, mode, status, from, to, cursor, limit);
+        return toPageResponse(orderService.searchOrders(q, mode, status, from, to, cursor, limit));
+    }
+
+    // ── GET /api/orders/export ─────────────────────────────────────────────
+    // Written straight to the response stream on an async thread, one order per line.
+    // Runs under its own timeout: the servlet container's async default (30s on Tomcat)
+    // would end a large export partway through.
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportOrders(HttpServletResponse response) {
+        log.info("GET /api/orders/export");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(exportTimeoutMillis, () -> {
+            orderExportService.exportAll(response.getOutputStream());
+            return null;
+        });
+    }
+
+    // ── GET /api/orders/summary ────────────────────────────────────────────
+    // Cheap enough to poll every second: counts are kept in memory, not queried
+    @GetMapping("/summary")
+    public ResponseEntity<OrderStatusSummary> getStatusSummary() {
+        log.debug("GET /api/orders/summary");
+        return ResponseEntity.ok(orderService.getStatusSummary());
+    }
+
+    // ── GET /api/orders/stream[?status=SHIPPED][&orderId=42] ──────────────
+    // ORDER_PLACED / ORDER_STATUS_UPDATE events as they reach orders-topic. Both filters
+    // are repeatable; a reconnect with Last-Event-ID resumes after that event.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<Long> orderId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("GET /api/orders/stream — status={}, orderId={}, lastEventId={}", status, orderId, lastEventId);
+        return orderEventBroadcaster.subscribe(status, orderId, lastEventId);
     }
 
     // ── GET /api/orders/{id} ───────────────────────────────────────────────
@@ -73,4 +171,23 @@ public class OrderController {
         log.info("PATCH /api/orders/{}/status — newStatus='{}'", id, newStatus);
         return ResponseEntity.ok(orderService.updateOrderStatus(id, newStatus));
     }
+
+    // ── PATCH /api/orders/status ───────────────────────────────────────────
+    // Body: { "ids": [1, 2, 3], "status": "SHIPPED" } — for scanners confirming many at once
+    @PatchMapping("/status")
+    public ResponseEntity<OrderBulkStatusResponse> updateStatuses(@Valid @RequestBody OrderBulkStatusRequest request) {
+        log.info("PATCH /api/orders/status — {} orders, newStatus='{}'", request.getIds().size(), request.getStatus());
+        OrderBulkStatusResponse response = orderService.updateOrderStatuses(request.getIds(), request.getStatus());
+        HttpStatus status = response.getRejected().isEmpty() ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────
+    private ResponseEntity<List<OrderResponse>> toPageResponse(OrderPage page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
 }
@@ -0,0 +1,38 @@
+package com.sysco.supplyservice.controller;
+
+import com.sysco.supplyservice.dto.DeadLetterReplayResponse;
+import com.sysco.supplyservice.producer.DeadLetterReplayer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin operations on the transactional outbox.
+ *
+ * Endpoints:
+ *   POST   /api/admin/outbox/dead-letters/replay → Re-publish dead-lettered events now (200)
+ */
+@RestController
+@RequestMapping("/api/admin/outbox")
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxAdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxAdminController.class);
+
+    private final DeadLetterReplayer deadLetterReplayer;
+
+    public OutboxAdminController(DeadLetterReplayer deadLetterReplayer) {
+        this.deadLetterReplayer = deadLetterReplayer;
+    }
+
+    // ── POST /api/admin/outbox/dead-letters/replay ─────────────────────────
+    @PostMapping("/dead-letters/replay")
+    public ResponseEntity<DeadLetterReplayResponse> replayDeadLetters() {
+        log.info("POST /api/admin/outbox/dead-letters/replay");
+        return ResponseEntity.ok(deadLetterReplayer.replayAll());
+    }
+}
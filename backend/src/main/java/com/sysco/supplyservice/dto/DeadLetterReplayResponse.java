@@ -0,0 +1,16 @@
+package com.sysco.supplyservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO for a manual dead-letter replay: events re-published, and dead letters still
+ * waiting (later events of a failing order, or everything behind a failed send).
+ */
+@Data
+@AllArgsConstructor
+public class DeadLetterReplayResponse {
+
+    private int replayed;
+    private long remaining;
+}
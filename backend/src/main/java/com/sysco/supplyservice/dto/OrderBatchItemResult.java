@@ -0,0 +1,29 @@
+package com.sysco.supplyservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one entry in a batch order request.
+ * index is the position of the entry in the submitted array.
+ */
+@Data
+@AllArgsConstructor
+public class OrderBatchItemResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String result; // CREATED | REJECTED
+    private OrderResponse order;
+    private String error;
+
+    public static OrderBatchItemResult created(int index, OrderResponse order) {
+        return new OrderBatchItemResult(index, CREATED, order, null);
+    }
+
+    public static OrderBatchItemResult rejected(int index, String error) {
+        return new OrderBatchItemResult(index, REJECTED, null, error);
+    }
+}
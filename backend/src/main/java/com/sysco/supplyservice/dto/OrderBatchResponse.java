@@ -0,0 +1,18 @@
+package com.sysco.supplyservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for batch order creation: totals plus one result per submitted entry, in input order.
+ */
+@Data
+@AllArgsConstructor
+public class OrderBatchResponse {
+
+    private int created;
+    private int rejected;
+    private List<OrderBatchItemResult> results;
+}
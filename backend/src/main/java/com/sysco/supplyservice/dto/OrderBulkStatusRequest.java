@@ -0,0 +1,20 @@
+package com.sysco.supplyservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for moving many orders to one status, e.g. a dock scanner confirming a pallet.
+ */
+@Data
+public class OrderBulkStatusRequest {
+
+    @NotEmpty(message = "At least one order id is required")
+    private List<Long> ids;
+
+    @NotBlank(message = "Status must not be blank")
+    private String status;
+}
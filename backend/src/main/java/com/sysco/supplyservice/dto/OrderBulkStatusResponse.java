@@ -0,0 +1,19 @@
+package com.sysco.supplyservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for a bulk status change: the ids that moved and the ids that did not
+ * (unknown, or not in a status that may move to the target), both in input order.
+ */
+@Data
+@AllArgsConstructor
+public class OrderBulkStatusResponse {
+
+    private String status;
+    private List<Long> moved;
+    private List<Long> rejected;
+}
@@ -0,0 +1,49 @@
+package com.sysco.supplyservice.dto;
+
+import com.sysco.supplyservice.model.OrderStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position for order listing: the (createdAt, id) of the last row on a page.
+ * Prefix search pages on (item name, status, createdAt, id), so its cursors also
+ * carry itemName and status; everywhere else those two are null.
+ *
+ * Clients only ever see the encoded form — an opaque URL-safe token — so the
+ * key columns can change later without breaking the API contract.
+ */
+public record OrderCursor(LocalDateTime createdAt, Long id, String itemName, OrderStatus status) {
+
+    private static final String SEPARATOR = "|";
+
+    public OrderCursor(LocalDateTime createdAt, Long id) {
+        this(createdAt, id, null, null);
+    }
+
+    public String encode() {
+        // The item name goes last: it is the only part that can contain the separator
+        String raw = createdAt + SEPARATOR + id
+                + (itemName == null ? "" : SEPARATOR + status.name() + SEPARATOR + itemName);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 2 && parts.length != 4) {
+                throw new IllegalArgumentException();
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(parts[0]);
+            long id = Long.parseLong(parts[1]);
+            return parts.length == 2
+                    ? new OrderCursor(createdAt, id)
+                    : new OrderCursor(createdAt, id, parts[3], OrderStatus.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor '" + token + "'");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sysco.supplyservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of an order listing.
+ * nextCursor is null when this is the last page.
+ */
+@Data
+@AllArgsConstructor
+public class OrderPage {
+
+    private List<OrderResponse> items;
+    private String nextCursor;
+}
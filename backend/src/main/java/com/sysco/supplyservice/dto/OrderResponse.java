@@ -1,15 +1,20 @@
 package com.sysco.supplyservice.dto;
 
+import com.sysco.supplyservice.model.OrderStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 /**
  * DTO for outgoing order responses.
  * We choose which fields to expose — never return the raw entity.
+ * The no-args constructor is what Jackson deserializes through: with two others
+ * it would find no creator to use.
  */
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class OrderResponse {
 
@@ -19,4 +24,10 @@ public class OrderResponse {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    // Target of the constructor-expression queries in OrderRepository and ArchivedOrderRepository
+    public OrderResponse(Long id, String itemName, Integer quantity, OrderStatus status,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, itemName, quantity, status.name(), createdAt, updatedAt);
+    }
 }
@@ -0,0 +1,20 @@
+package com.sysco.supplyservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO for the status dashboard: order count per status, their sum, and when the
+ * counts were last reconciled against the database.
+ */
+@Data
+@AllArgsConstructor
+public class OrderStatusSummary {
+
+    private Map<String, Long> counts;
+    private long total;
+    private LocalDateTime reconciledAt;
+}
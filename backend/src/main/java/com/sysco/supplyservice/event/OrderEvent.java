@@ -0,0 +1,30 @@
+package com.sysco.supplyservice.event;
+
+/**
+ * An order event as carried on orders-topic (see OrderEventCodec for the wire format).
+ *
+ * itemName and quantity are only set on ORDER_PLACED; status is always set.
+ * occurredAt is epoch milliseconds.
+ */
+public record OrderEvent(
+        OrderEventType type,
+        long orderId,
+        String itemName,
+        Integer quantity,
+        String status,
+        long occurredAt
+) {
+
+    public static OrderEvent placed(long orderId, String itemName, int quantity, String status, long occurredAt) {
+        return new OrderEvent(OrderEventType.ORDER_PLACED, orderId, itemName, quantity, status, occurredAt);
+    }
+
+    public static OrderEvent statusUpdate(long orderId, String status, long occurredAt) {
+        return new OrderEvent(OrderEventType.ORDER_STATUS_UPDATE, orderId, null, null, status, occurredAt);
+    }
+
+    // Kafka record key: all events for one order land on the same partition, in order
+    public String key() {
+        return Long.toString(orderId);
+    }
+}
@@ -0,0 +1,162 @@
+package com.sysco.supplyservice.event;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary wire format for OrderEvent.
+ *
+ * Schema, version 1 (integers are unsigned LEB128 varints, strings are a varint
+ * byte length followed by UTF-8 bytes):
+ *
+ *   byte     version     = 1
+ *   byte     type        OrderEventType code
+ *   byte     fields      presence bitmap: 0x01 itemName, 0x02 quantity, 0x04 status
+ *   varint   orderId
+ *   varint   occurredAt  epoch millis
+ *   string   itemName    if 0x01
+ *   varint   quantity    if 0x02
+ *   string   status      if 0x04
+ *
+ * A typical ORDER_PLACED event is ~30 bytes versus ~45 for the old text message,
+ * and decoding is a single pass with no regex or String.split.
+ * Any change to the layout must bump VERSION; decoders reject versions they do not know.
+ */
+public final class OrderEventCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int HAS_ITEM_NAME = 0x01;
+    private static final int HAS_QUANTITY = 0x02;
+    private static final int HAS_STATUS = 0x04;
+
+    private OrderEventCodec() {
+    }
+
+    // ── Encoding ──────────────────────────────────────────────────────────
+    // Sizes the buffer exactly up front so each event costs one array allocation.
+    public static byte[] encode(OrderEvent event) {
+        byte[] itemName = utf8(event.itemName());
+        byte[] status = utf8(event.status());
+        Integer quantity = event.quantity();
+
+        int fields = 0;
+        int size = 3 + varLongSize(event.orderId()) + varLongSize(event.occurredAt());
+        if (itemName != null) {
+            fields |= HAS_ITEM_NAME;
+            size += varLongSize(itemName.length) + itemName.length;
+        }
+        if (quantity != null) {
+            fields |= HAS_QUANTITY;
+            size += varLongSize(quantity);
+        }
+        if (status != null) {
+            fields |= HAS_STATUS;
+            size += varLongSize(status.length) + status.length;
+        }
+
+        byte[] out = new byte[size];
+        out[0] = VERSION;
+        out[1] = event.type().code();
+        out[2] = (byte) fields;
+        int pos = 3;
+        pos = writeVarLong(out, pos, event.orderId());
+        pos = writeVarLong(out, pos, event.occurredAt());
+        if (itemName != null) {
+            pos = writeBytes(out, pos, itemName);
+        }
+        if (quantity != null) {
+            pos = writeVarLong(out, pos, quantity);
+        }
+        if (status != null) {
+            writeBytes(out, pos, status);
+        }
+        return out;
+    }
+
+    // ── Decoding ──────────────────────────────────────────────────────────
+    public static OrderEvent decode(byte[] data) {
+        if (data == null || data.length < 3) {
+            throw new IllegalArgumentException("Order event too short");
+        }
+        if (data[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported order event version " + data[0]);
+        }
+        OrderEventType type = OrderEventType.fromCode(data[1]);
+        int fields = data[2];
+
+        Reader in = new Reader(data, 3);
+        long orderId = in.varLong();
+        long occurredAt = in.varLong();
+        String itemName = (fields & HAS_ITEM_NAME) != 0 ? in.string() : null;
+        Integer quantity = (fields & HAS_QUANTITY) != 0 ? (int) in.varLong() : null;
+        String status = (fields & HAS_STATUS) != 0 ? in.string() : null;
+
+        return new OrderEvent(type, orderId, itemName, quantity, status, occurredAt);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int varLongSize(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values are not encodable: " + value);
+        }
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarLong(byte[] out, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static int writeBytes(byte[] out, int pos, byte[] bytes) {
+        pos = writeVarLong(out, pos, bytes.length);
+        System.arraycopy(bytes, 0, out, pos, bytes.length);
+        return pos + bytes.length;
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data, int pos) {
+            this.data = data;
+            this.pos = pos;
+        }
+
+        long varLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= data.length) {
+                    throw new IllegalArgumentException("Truncated order event");
+                }
+                byte b = data[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in order event");
+        }
+
+        String string() {
+            int length = (int) varLong();
+            if (length < 0 || pos + length > data.length) {
+                throw new IllegalArgumentException("Truncated order event");
+            }
+            String value = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+    }
+}
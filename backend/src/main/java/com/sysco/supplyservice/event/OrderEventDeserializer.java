@@ -0,0 +1,24 @@
+package com.sysco.supplyservice.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka value deserializer for OrderEvent (binary format, see OrderEventCodec).
+ * Configured behind Spring's ErrorHandlingDeserializer so an unreadable record is
+ * reported and skipped instead of blocking the partition.
+ */
+public class OrderEventDeserializer implements Deserializer<OrderEvent> {
+
+    @Override
+    public OrderEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return OrderEventCodec.decode(data);
+        } catch (IllegalArgumentException ex) {
+            throw new SerializationException("Cannot decode order event from " + topic + ": " + ex.getMessage(), ex);
+        }
+    }
+}
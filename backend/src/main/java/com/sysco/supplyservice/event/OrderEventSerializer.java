@@ -0,0 +1,14 @@
+package com.sysco.supplyservice.event;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer for OrderEvent (binary format, see OrderEventCodec).
+ */
+public class OrderEventSerializer implements Serializer<OrderEvent> {
+
+    @Override
+    public byte[] serialize(String topic, OrderEvent event) {
+        return event == null ? null : OrderEventCodec.encode(event);
+    }
+}
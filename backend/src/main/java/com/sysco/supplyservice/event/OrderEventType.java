@@ -0,0 +1,30 @@
+package com.sysco.supplyservice.event;
+
+/**
+ * Kinds of events published to orders-topic.
+ * The code is what goes on the wire — never renumber an existing constant.
+ */
+public enum OrderEventType {
+
+    ORDER_PLACED((byte) 1),
+    ORDER_STATUS_UPDATE((byte) 2);
+
+    private final byte code;
+
+    OrderEventType(byte code) {
+        this.code = code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public static OrderEventType fromCode(byte code) {
+        for (OrderEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order event type code " + code);
+    }
+}
@@ -0,0 +1,14 @@
+package com.sysco.supplyservice.exception;
+
+import com.sysco.supplyservice.model.OrderStatus;
+
+/**
+ * Thrown when an order cannot move to the requested status — either the transition
+ * is not in the lifecycle table, or another request changed the order first.
+ */
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    public InvalidStatusTransitionException(Long id, OrderStatus currentStatus, OrderStatus target) {
+        super("Order " + id + " cannot move from " + currentStatus + " to " + target);
+    }
+}
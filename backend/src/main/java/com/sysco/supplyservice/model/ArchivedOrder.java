@@ -0,0 +1,39 @@
+package com.sysco.supplyservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity mapped to the "supply_orders_archive" table.
+ *
+ * A SHIPPED or CANCELLED order that OrderArchiver moved out of supply_orders. Same
+ * columns, plus when it was moved. Rows are written once by the archiver's
+ * INSERT ... SELECT and never updated: terminal statuses have no transitions.
+ */
+@Entity
+@Table(name = "supply_orders_archive")
+@Data
+public class ArchivedOrder {
+
+    @Id
+    private Long id; // supply_orders id
+
+    @Column(nullable = false)
+    private String itemName;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
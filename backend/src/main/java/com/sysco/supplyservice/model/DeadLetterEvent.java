@@ -0,0 +1,65 @@
+package com.sysco.supplyservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity mapped to the "order_outbox_dead_letter" table.
+ *
+ * An outbox event that OutboxRelay failed to publish max-attempts times in a row.
+ * It keeps the outbox id, so DeadLetterReplayer re-publishes in the original order,
+ * and is deleted once Kafka acknowledges it.
+ */
+@Entity
+@Table(name = "order_outbox_dead_letter")
+@Data
+public class DeadLetterEvent {
+
+    static final int MAX_ERROR_LENGTH = 1024;
+
+    @Id
+    private Long id; // order_outbox id
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, length = 1024)
+    private byte[] payload; // OrderEventCodec-encoded, sent to Kafka as-is
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt; // when the outbox row was written
+
+    @Column(nullable = false)
+    private LocalDateTime failedAt; // when the relay gave up on it
+
+    @Column(nullable = false)
+    private int attempts; // failed replays so far
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    public static DeadLetterEvent of(OutboxEvent event, String error, LocalDateTime failedAt) {
+        DeadLetterEvent deadLetter = new DeadLetterEvent();
+        deadLetter.setId(event.getId());
+        deadLetter.setOrderId(event.getOrderId());
+        deadLetter.setEventType(event.getEventType());
+        deadLetter.setPayload(event.getPayload());
+        deadLetter.setCreatedAt(event.getCreatedAt());
+        deadLetter.setFailedAt(failedAt);
+        deadLetter.setNextAttemptAt(failedAt);
+        deadLetter.setError(error);
+        return deadLetter;
+    }
+
+    public void setError(String error) {
+        lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,86 @@
+package com.sysco.supplyservice.model;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Order lifecycle and its transition table.
+ *
+ *   PENDING ──▶ PROCESSING ──▶ SHIPPED
+ *      │             │
+ *      └──────┬──────┘
+ *             ▼
+ *         CANCELLED
+ *
+ * SHIPPED and CANCELLED are terminal. Each status knows which statuses may precede
+ * it, so a transition can be applied as one conditional UPDATE:
+ * "... WHERE id = ? AND status IN (predecessors)".
+ *
+ * Stored as a SMALLINT code (see OrderStatusConverter). Codes are fixed per status
+ * and never reused; a new status takes the next free code and widens the
+ * chk_supply_orders_status constraint in a migration.
+ */
+public enum OrderStatus {
+
+    PENDING(0),
+    PROCESSING(1),
+    SHIPPED(2),
+    CANCELLED(3);
+
+    private static final OrderStatus[] BY_CODE = values();
+
+    private final short code;
+
+    // Allowed predecessors of each status (the transition table, read backwards)
+    private Set<OrderStatus> predecessors;
+
+    OrderStatus(int code) {
+        this.code = (short) code;
+    }
+
+    static {
+        PENDING.predecessors = EnumSet.noneOf(OrderStatus.class);
+        PROCESSING.predecessors = EnumSet.of(PENDING);
+        SHIPPED.predecessors = EnumSet.of(PROCESSING);
+        CANCELLED.predecessors = EnumSet.of(PENDING, PROCESSING);
+    }
+
+    public Set<OrderStatus> predecessors() {
+        return predecessors;
+    }
+
+    // Value stored in supply_orders.status
+    public short code() {
+        return code;
+    }
+
+    public static OrderStatus fromCode(short code) {
+        if (code < 0 || code >= BY_CODE.length || BY_CODE[code].code != code) {
+            throw new IllegalArgumentException("Unknown status code " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return target.predecessors.contains(this);
+    }
+
+    // No status may follow it (SHIPPED, CANCELLED)
+    public boolean isTerminal() {
+        return Arrays.stream(BY_CODE).noneMatch(this::canTransitionTo);
+    }
+
+    // Case-insensitive lookup for API input
+    public static OrderStatus parse(String value) {
+        if (value != null) {
+            for (OrderStatus status : values()) {
+                if (status.name().equalsIgnoreCase(value.trim())) {
+                    return status;
+                }
+            }
+        }
+        throw new IllegalArgumentException(
+            "Invalid status '" + value + "'. Allowed: " + Arrays.toString(values()));
+    }
+}
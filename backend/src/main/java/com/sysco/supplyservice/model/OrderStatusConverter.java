@@ -0,0 +1,24 @@
+package com.sysco.supplyservice.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps OrderStatus to its SMALLINT code in supply_orders.status.
+ *
+ * Two bytes per row and per index entry instead of a varchar, and status filters
+ * compare integers rather than collated strings.
+ */
+@Converter(autoApply = true)
+public class OrderStatusConverter implements AttributeConverter<OrderStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(OrderStatus status) {
+        return status == null ? null : status.code();
+    }
+
+    @Override
+    public OrderStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : OrderStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,61 @@
+package com.sysco.supplyservice.model;
+
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.event.OrderEventCodec;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * JPA entity mapped to the "order_outbox" table.
+ *
+ * One row per order event, written in the same transaction as the SupplyOrder change
+ * it describes. OutboxRelay publishes unsent rows to Kafka and stamps sentAt; a row
+ * that keeps failing is moved to the dead-letter table (DeadLetterEvent).
+ */
+@Entity
+@Table(name = "order_outbox")
+@Data
+public class OutboxEvent {
+
+    // One sequence value per row (no pooled blocks): the relay sends in id order, and a
+    // block held by another instance would give a later event of an order a lower id.
+    // The event is saved after its order's row is updated, so it draws its id once the
+    // previous change to that order has committed.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private String eventType; // ORDER_PLACED | ORDER_STATUS_UPDATE
+
+    @Column(nullable = false, length = 1024)
+    private byte[] payload; // OrderEventCodec-encoded, sent to Kafka as-is
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt; // null until the relay has published the event
+
+    @Column(nullable = false)
+    private int attempts; // failed publishes so far
+
+    @PrePersist
+    void onCreate() {
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public static OutboxEvent of(OrderEvent orderEvent) {
+        OutboxEvent event = new OutboxEvent();
+        event.setOrderId(orderEvent.orderId());
+        event.setEventType(orderEvent.type().name());
+        event.setPayload(OrderEventCodec.encode(orderEvent));
+        return event;
+    }
+}
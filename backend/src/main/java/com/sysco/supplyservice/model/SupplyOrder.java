@@ -2,23 +2,28 @@ package com.sysco.supplyservice.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * JPA entity mapped to the "supply_orders" table.
  *
- * Status lifecycle:  PENDING → PROCESSING → SHIPPED
+ * Status lifecycle:  PENDING → PROCESSING → SHIPPED, or CANCELLED (see OrderStatus)
+ *
+ * Terminal orders are moved to supply_orders_archive (ArchivedOrder) by OrderArchiver
+ * once they are older than app.orders.archive.min-age.
  */
 @Entity
 @Table(name = "supply_orders")
 @Data
 public class SupplyOrder {
 
+    // Sequence-backed ids are allocated in blocks of 50 before the INSERT runs,
+    // which lets Hibernate group inserts into JDBC batches (IDENTITY cannot).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "supply_orders_seq")
+    @SequenceGenerator(name = "supply_orders_seq", sequenceName = "supply_orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,12 +33,26 @@ public class SupplyOrder {
     private Integer quantity;
 
     @Column(nullable = false)
-    private String status; // PENDING | PROCESSING | SHIPPED
+    private OrderStatus status; // stored as its SMALLINT code (OrderStatusConverter)
 
-    @CreationTimestamp
-    @Column(updatable = false)
-    private LocalDateTime createdAt;
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt; // partition key of supply_orders (monthly ranges)
 
-    @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // Timestamps are stamped in persist()/flush callbacks rather than at INSERT time:
+    // with sequence ids the INSERT is deferred to flush, and callers (including the
+    // batch path) expect createdAt to be populated as soon as save() returns.
+    // Truncated to the column's microsecond precision so the in-memory value matches
+    // what keyset cursors read back from the database.
+    @PrePersist
+    void onCreate() {
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
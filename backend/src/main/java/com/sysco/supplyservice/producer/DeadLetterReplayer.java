@@ -0,0 +1,167 @@
+package com.sysco.supplyservice.producer;
+
+import com.sysco.supplyservice.dto.DeadLetterReplayResponse;
+import com.sysco.supplyservice.model.DeadLetterEvent;
+import com.sysco.supplyservice.repository.DeadLetterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background replay of dead-lettered outbox events (see OutboxRelay).
+ *
+ * Each run re-publishes due dead letters in batches through KafkaPublisher, oldest
+ * first, and deletes the acknowledged ones. Runs are skipped unless the publisher's
+ * circuit breaker is closed, so the broker is not hammered while it is still down.
+ * A failed replay pushes that event's next attempt out exponentially:
+ * initial-backoff × 2^(attempts-1), capped at max-backoff. Only the earliest dead
+ * letter of an order is ever sent, which keeps per-order ordering.
+ * POST /api/admin/outbox/dead-letters/replay replays everything at once, ignoring backoff.
+ *
+ * Metrics:
+ *  - outbox.dead_letter.depth        dead letters waiting (refreshed every run)
+ *  - outbox.dead_letter.oldest.age   seconds since the oldest one was dead-lettered
+ *  - outbox.dead_letter.replayed     dead letters re-published
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class DeadLetterReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterReplayer.class);
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final KafkaPublisher publisher;
+    private final TransactionOperations transactionTemplate;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Counter replayed;
+    private final AtomicLong depth = new AtomicLong();
+    private volatile LocalDateTime oldestFailedAt;
+
+    public DeadLetterReplayer(
+            DeadLetterRepository deadLetterRepository,
+            KafkaPublisher publisher,
+            TransactionOperations transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.dead-letter.batch-size:100}") int batchSize,
+            @Value("${app.outbox.dead-letter.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${app.outbox.dead-letter.max-backoff:30m}") Duration maxBackoff
+    ) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.replayed = Counter.builder("outbox.dead_letter.replayed")
+                .description("Dead-lettered outbox events re-published to Kafka")
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead_letter.depth", depth, AtomicLong::get)
+                .description("Dead-lettered outbox events waiting for replay")
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead_letter.oldest.age", this, DeadLetterReplayer::oldestAgeSeconds)
+                .description("Seconds since the oldest waiting event was dead-lettered")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    // ── Scheduled replay ──────────────────────────────────────────────────
+    @Scheduled(fixedDelayString = "${app.outbox.dead-letter.replay-interval:10s}")
+    public void replayDue() {
+        if (publisher.brokerAvailable()) {
+            int sent;
+            do {
+                sent = replayBatch(true);
+            } while (sent == batchSize);
+        }
+        refreshStats();
+    }
+
+    // ── Manual replay (admin endpoint) ────────────────────────────────────
+    // Ignores backoff; stops at the first batch that is not fully acked (or is rejected)
+    public DeadLetterReplayResponse replayAll() {
+        int total = 0;
+        int sent;
+        do {
+            sent = replayBatch(false);
+            total += sent;
+        } while (sent == batchSize);
+        refreshStats();
+        log.info("Manual dead-letter replay re-published {} events, {} left", total, depth.get());
+        return new DeadLetterReplayResponse(total, depth.get());
+    }
+
+    // Returns how many dead letters were re-published from this batch
+    int replayBatch(boolean dueOnly) {
+        Integer sent = transactionTemplate.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<DeadLetterEvent> batch = dueOnly
+                    ? deadLetterRepository.findDueForUpdate(now, Limit.of(batchSize))
+                    : deadLetterRepository.findReplayableForUpdate(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<DeadLetterEvent> acked = publish(batch, now);
+            deadLetterRepository.deleteAllInBatch(acked);
+            replayed.increment(acked.size());
+            return acked.size();
+        });
+        return sent == null ? 0 : sent;
+    }
+
+    // Leading run of acknowledged dead letters; the one that failed is backed off
+    private List<DeadLetterEvent> publish(List<DeadLetterEvent> batch, LocalDateTime now) {
+        KafkaPublisher.Outcome outcome = publisher.publish(batch.stream()
+                .map(event -> new KafkaPublisher.Message(event.getOrderId(), event.getPayload()))
+                .toList());
+        if (outcome.failure() != null) {
+            DeadLetterEvent event = batch.get(outcome.acked());
+            backOff(event, outcome.failure(), now);
+            log.warn("Dead-letter replay failed for event id={} (order id={}), attempt {}, next at {}: {}",
+                    event.getId(), event.getOrderId(), event.getAttempts(), event.getNextAttemptAt(),
+                    outcome.failure().getMessage());
+        }
+        return batch.subList(0, outcome.acked());
+    }
+
+    // The change is flushed with the batch's transaction
+    private void backOff(DeadLetterEvent event, Exception ex, LocalDateTime now) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+        event.setError(ex.getCause() != null ? ex.getCause().toString() : ex.toString());
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    // ── Metrics ───────────────────────────────────────────────────────────
+    private void refreshStats() {
+        try {
+            depth.set(deadLetterRepository.count());
+            oldestFailedAt = deadLetterRepository.findOldestFailedAt();
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh dead-letter stats: {}", ex.getMessage());
+        }
+    }
+
+    private double oldestAgeSeconds() {
+        LocalDateTime oldest = oldestFailedAt;
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds());
+    }
+}
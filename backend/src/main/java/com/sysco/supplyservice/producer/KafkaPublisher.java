@@ -0,0 +1,142 @@
+package com.sysco.supplyservice.producer;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes batches of encoded order events to orders-topic for OutboxRelay and
+ * DeadLetterReplayer, behind the "kafkaPublish" circuit breaker and bulkhead
+ * (resilience4j.* in application.yaml).
+ *
+ * The whole batch is handed to the producer first; acks are then collected in order
+ * against a single send-timeout deadline. Only the leading run of acked messages counts,
+ * so a failed event is never overtaken by a later one for the same order.
+ *
+ * While the breaker is open, or max-concurrent-calls batches are already in flight,
+ * nothing is sent and the batch comes back rejected: the events stay where they are
+ * (outbox or dead-letter table) and their attempt counts are left alone. Request
+ * threads never publish — they only write the outbox — so API latency does not
+ * depend on the broker either way.
+ *
+ * Metrics: resilience4j.circuitbreaker.* and resilience4j.bulkhead.* (name=kafkaPublish),
+ * kafka.publish.rejected{reason=circuit_open|bulkhead_full}.
+ */
+@Component
+public class KafkaPublisher {
+
+    public static final String ORDERS_TOPIC = "orders-topic";
+    static final String INSTANCE = "kafkaPublish";
+
+    private final KafkaOperations<String, byte[]> kafkaTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Duration sendTimeout;
+    private final Counter circuitOpen;
+    private final Counter bulkheadFull;
+
+    public KafkaPublisher(
+            KafkaOperations<String, byte[]> kafkaTemplate,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            @Value("${app.outbox.relay.send-timeout:10s}") Duration sendTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.sendTimeout = sendTimeout;
+        this.circuitOpen = rejectedCounter(meterRegistry, "circuit_open");
+        this.bulkheadFull = rejectedCounter(meterRegistry, "bulkhead_full");
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("kafka.publish.rejected")
+                .description("Batches not sent because the Kafka circuit is open or the bulkhead is full")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // One event: Kafka key is the order id (per-order ordering, partition affinity)
+    public record Message(Long orderId, byte[] payload) {
+    }
+
+    // acked: leading messages the broker acknowledged. failure: what stopped the batch
+    // (ExecutionException or TimeoutException), null if none. rejected: nothing was sent.
+    public record Outcome(int acked, Exception failure, boolean rejected) {
+
+        static Outcome rejectedBatch() {
+            return new Outcome(0, null, true);
+        }
+    }
+
+    public Outcome publish(List<Message> batch) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitOpen.increment();
+            return Outcome.rejectedBatch();
+        }
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            bulkheadFull.increment();
+            return Outcome.rejectedBatch();
+        }
+        long start = System.nanoTime();
+        try {
+            Outcome outcome = sendAndAwait(batch);
+            long elapsed = System.nanoTime() - start;
+            if (outcome.failure() != null) {
+                Throwable cause = outcome.failure() instanceof ExecutionException && outcome.failure().getCause() != null
+                        ? outcome.failure().getCause() : outcome.failure();
+                circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, cause);
+            } else if (outcome.acked() == batch.size()) {
+                circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+            } else {
+                circuitBreaker.releasePermission(); // interrupted: no verdict on the broker
+            }
+            return outcome;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    // True while the breaker is closed; DeadLetterReplayer only replays then
+    public boolean brokerAvailable() {
+        return circuitBreaker.getState() == CircuitBreaker.State.CLOSED;
+    }
+
+    private Outcome sendAndAwait(List<Message> batch) {
+        List<CompletableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(batch.size());
+        for (Message message : batch) {
+            futures.add(kafkaTemplate.send(ORDERS_TOPIC, message.orderId().toString(), message.payload()));
+        }
+        kafkaTemplate.flush();
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return new Outcome(i, null, false);
+            } catch (ExecutionException | TimeoutException ex) {
+                return new Outcome(i, ex, false);
+            }
+        }
+        return new Outcome(futures.size(), null, false);
+    }
+}
@@ -0,0 +1,188 @@
+package com.sysco.supplyservice.producer;
+
+import com.sysco.supplyservice.model.DeadLetterEvent;
+import com.sysco.supplyservice.model.OutboxEvent;
+import com.sysco.supplyservice.repository.DeadLetterRepository;
+import com.sysco.supplyservice.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background relay for the transactional outbox.
+ *
+ * Request threads only INSERT into order_outbox; this worker drains unsent rows in
+ * batches, hands the whole batch to KafkaPublisher, waits for the acks and marks
+ * the acknowledged rows as sent — all inside one DB transaction. If the broker is slow
+ * or down the rows simply stay unsent and are retried on the next poll, so API latency
+ * never depends on Kafka and no event is lost if the process dies mid-way (at-least-once).
+ *
+ * Per-order ordering: one batch is in flight across the whole cluster at a time
+ * (OutboxRelayLock; other instances skip the poll while it is held), batches are taken
+ * in id order, and a later event of an order always gets a higher id than the earlier
+ * one (see OutboxEvent). With KafkaPublisher keying by order id, each order's events
+ * reach its partition in the order they were committed.
+ *
+ * Each failed send counts against the event; after max-attempts failures it is moved to
+ * the dead-letter table, so one poison event cannot hold up the whole outbox. Later events
+ * of that order stay here until DeadLetterReplayer has re-published it. Batches the
+ * publisher rejects (circuit open, bulkhead full) are not attempts: during a broker
+ * outage the relay polls cheaply and nothing is dead-lettered.
+ *
+ * Metrics:
+ *  - outbox.publish.duration            send + acks for one batch
+ *  - outbox.events.published            events acknowledged by the broker
+ *  - outbox.publish.failures{cause=...} batches cut short by a send error or ack timeout
+ *  - outbox.events.dead_lettered        events moved to the dead-letter table
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final DeadLetterRepository deadLetterRepository;
+    private final KafkaPublisher publisher;
+    private final TransactionOperations transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final Timer publishDuration;
+    private final Counter published;
+    private final Counter sendErrors;
+    private final Counter sendTimeouts;
+    private final Counter deadLettered;
+
+    public OutboxRelay(
+            OutboxRepository outboxRepository,
+            DeadLetterRepository deadLetterRepository,
+            KafkaPublisher publisher,
+            TransactionOperations transactionTemplate,
+            @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${app.outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.retention:24h}") Duration retention,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.publishDuration = Timer.builder("outbox.publish.duration")
+                .description("Time to send one outbox batch to Kafka and collect its acks")
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.events.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.sendErrors = failureCounter(meterRegistry, "error");
+        this.sendTimeouts = failureCounter(meterRegistry, "timeout");
+        this.deadLettered = Counter.builder("outbox.events.dead_lettered")
+                .description("Outbox events moved to the dead-letter table after max-attempts failed sends")
+                .register(meterRegistry);
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("outbox.publish.failures")
+                .description("Outbox batches cut short by a failed or unacknowledged send")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    // ── Drain loop ────────────────────────────────────────────────────────
+    // Keeps going while batches come back full, then sleeps until the next poll.
+    @Scheduled(fixedDelayString = "${app.outbox.relay.poll-interval:200ms}")
+    public void relay() {
+        int sent;
+        do {
+            sent = relayBatch();
+        } while (sent == batchSize);
+    }
+
+    // Returns how many events were published from this batch
+    public int relayBatch() {
+        Integer sent = transactionTemplate.execute(tx -> {
+            if (!outboxRepository.tryLockRelay()) {
+                log.debug("Another instance is relaying the outbox, skipping this poll");
+                return 0;
+            }
+            List<OutboxEvent> batch = outboxRepository.findUnsentForUpdate(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            List<Long> sentIds = publish(batch);
+            if (!sentIds.isEmpty()) {
+                outboxRepository.markSent(sentIds, LocalDateTime.now());
+            }
+            return sentIds.size();
+        });
+        return sent == null ? 0 : sent;
+    }
+
+    // Returns the ids of the leading run of acknowledged events (none if rejected)
+    private List<Long> publish(List<OutboxEvent> batch) {
+        long start = System.nanoTime();
+        KafkaPublisher.Outcome outcome = publisher.publish(batch.stream()
+                .map(event -> new KafkaPublisher.Message(event.getOrderId(), event.getPayload()))
+                .toList());
+        if (outcome.rejected()) {
+            log.debug("Kafka publish rejected (circuit open or bulkhead full), {} outbox events wait", batch.size());
+            return List.of();
+        }
+        publishDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        List<Long> sentIds = batch.subList(0, outcome.acked()).stream().map(OutboxEvent::getId).toList();
+        if (outcome.failure() != null) {
+            OutboxEvent event = batch.get(outcome.acked());
+            (outcome.failure() instanceof TimeoutException ? sendTimeouts : sendErrors).increment();
+            log.warn("Kafka publish failed for outbox event id={} (order id={}), will retry: {}",
+                    event.getId(), event.getOrderId(), outcome.failure().getMessage());
+            recordFailure(event, outcome.failure());
+        }
+        published.increment(sentIds.size());
+        log.debug("Relayed {}/{} outbox events to Kafka [{}]", sentIds.size(), batch.size(), KafkaPublisher.ORDERS_TOPIC);
+        return sentIds;
+    }
+
+    // Counts a failed send against the event (the change commits with the batch) and
+    // dead-letters it once it has used up max-attempts
+    private void recordFailure(OutboxEvent event, Exception ex) {
+        event.setAttempts(event.getAttempts() + 1);
+        if (event.getAttempts() < maxAttempts) {
+            return;
+        }
+        String error = ex.getCause() != null ? ex.getCause().toString() : ex.toString();
+        deadLetterRepository.save(DeadLetterEvent.of(event, error, LocalDateTime.now()));
+        outboxRepository.delete(event);
+        deadLettered.increment();
+        log.error("Outbox event id={} (order id={}) failed {} times, moved to the dead-letter table: {}",
+                event.getId(), event.getOrderId(), event.getAttempts(), error);
+    }
+
+    // ── Housekeeping ──────────────────────────────────────────────────────
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:1h}")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(tx -> outboxRepository.deleteSentBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} sent outbox events older than {}", deleted, retention);
+        }
+    }
+}
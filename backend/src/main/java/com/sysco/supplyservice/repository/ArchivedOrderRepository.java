@@ -0,0 +1,37 @@
+package com.sysco.supplyservice.repository;
+
+import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.model.ArchivedOrder;
+import com.sysco.supplyservice.model.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    // Same projection as OrderRepository.findResponseById, and read from the primary for
+    // the same reason: an order just archived may not be in a replica's archive yet
+    @Transactional
+    @Query("SELECT new com.sysco.supplyservice.dto.OrderResponse("
+            + "a.id, a.itemName, a.quantity, a.status, a.createdAt, a.updatedAt) "
+            + "FROM ArchivedOrder a WHERE a.id = :id")
+    Optional<OrderResponse> findResponseById(Long id);
+
+    @Query("SELECT a.status FROM ArchivedOrder a WHERE a.id = :id")
+    Optional<OrderStatus> findStatusById(Long id);
+
+    // Copies the given orders over in one statement. The createdAt bound repeats the
+    // archiver's cutoff so only the partitions before it are probed for the ids.
+    @Modifying
+    @Query("INSERT INTO ArchivedOrder (id, itemName, quantity, status, createdAt, updatedAt, archivedAt) "
+            + "SELECT o.id, o.itemName, o.quantity, o.status, o.createdAt, o.updatedAt, :archivedAt "
+            + "FROM SupplyOrder o WHERE o.id IN :ids AND o.createdAt < :createdBefore")
+    int copyFromOrders(Collection<Long> ids, LocalDateTime createdBefore, LocalDateTime archivedAt);
+}
@@ -0,0 +1,38 @@
+package com.sysco.supplyservice.repository;
+
+import com.sysco.supplyservice.model.DeadLetterEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeadLetterRepository extends JpaRepository<DeadLetterEvent, Long> {
+
+    String EARLIEST_OF_ORDER =
+            "NOT EXISTS (SELECT 1 FROM DeadLetterEvent p WHERE p.orderId = d.orderId AND p.id < d.id)";
+
+    // Oldest dead letters whose backoff has elapsed, locked FOR UPDATE SKIP LOCKED.
+    // Only the earliest dead letter of each order is eligible, so a later event for
+    // the same order is never replayed ahead of one that is still failing.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM DeadLetterEvent d WHERE d.nextAttemptAt <= :now AND " + EARLIEST_OF_ORDER + " ORDER BY d.id")
+    List<DeadLetterEvent> findDueForUpdate(LocalDateTime now, Limit limit);
+
+    // Same, ignoring backoff (manual replay)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM DeadLetterEvent d WHERE " + EARLIEST_OF_ORDER + " ORDER BY d.id")
+    List<DeadLetterEvent> findReplayableForUpdate(Limit limit);
+
+    @Query("SELECT MIN(d.failedAt) FROM DeadLetterEvent d")
+    LocalDateTime findOldestFailedAt();
+}
@@ -0,0 +1,21 @@
+package com.sysco.supplyservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Custom repository fragment: monthly partitions of supply_orders (V5 and V8 migrations).
+ *
+ * Both calls run the migration's PL/pgSQL functions and return the partitions they
+ * created or dropped. On databases without them (H2 in tests, where the table comes
+ * from the entity and is not partitioned) they do nothing and return an empty list.
+ */
+public interface OrderPartitions {
+
+    // Creates the missing partitions for the months from first through last, and for
+    // earlier months with rows in the default partition; those rows move into them
+    List<String> createPartitions(LocalDateTime first, LocalDateTime last);
+
+    // Drops partitions that ended before olderThan and hold no rows
+    List<String> dropEmptyPartitions(LocalDateTime olderThan);
+}
@@ -0,0 +1,59 @@
+package com.sysco.supplyservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Native implementation of OrderPartitions; must run inside a transaction.
+ */
+class OrderPartitionsImpl implements OrderPartitions {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean partitioned;
+
+    @Override
+    public List<String> createPartitions(LocalDateTime first, LocalDateTime last) {
+        if (!partitioned()) {
+            return List.of();
+        }
+        return names(entityManager.createNativeQuery("SELECT supply_orders_create_partitions(:first, :last)")
+                .setParameter("first", first)
+                .setParameter("last", last)
+                .getResultList());
+    }
+
+    @Override
+    public List<String> dropEmptyPartitions(LocalDateTime olderThan) {
+        if (!partitioned()) {
+            return List.of();
+        }
+        return names(entityManager.createNativeQuery("SELECT supply_orders_drop_empty_partitions(:olderThan)")
+                .setParameter("olderThan", olderThan)
+                .getResultList());
+    }
+
+    // Resolved once from the configured Hibernate dialect
+    private boolean partitioned() {
+        Boolean resolved = partitioned;
+        if (resolved == null) {
+            Object dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect();
+            resolved = dialect instanceof PostgreSQLDialect;
+            partitioned = resolved;
+        }
+        return resolved;
+    }
+
+    private static List<String> names(List<?> rows) {
+        return rows.stream().map(String::valueOf).toList();
+    }
+}
@@ -1,17 +1,119 @@
 package com.sysco.supplyservice.repository;
 
+import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.model.OrderStatus;
 import com.sysco.supplyservice.model.SupplyOrder;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<SupplyOrder, Long> {
+public interface OrderRepository extends JpaRepository<SupplyOrder, Long>, OrderStatusTransitions, OrderPartitions,
+        OrderSearch {
 
-    // Find all orders with a given status (e.g. "PENDING")
-    List<SupplyOrder> findByStatus(String status);
+    // Rows pulled per round trip when streaming the full table
+    String EXPORT_FETCH_SIZE = "1000";
+
+    // API reads select straight into OrderResponse (JPQL constructor expression): no
+    // managed entities, so nothing enters the persistence context and no dirty-check
+    // snapshot is taken per row. Read-only transactions skip the flush on commit.
+    String SELECT_RESPONSE = "SELECT new com.sysco.supplyservice.dto.OrderResponse("
+            + "o.id, o.itemName, o.quantity, o.status, o.createdAt, o.updatedAt) FROM SupplyOrder o ";
+
+    // Find all orders with a given status
+    List<SupplyOrder> findByStatus(OrderStatus status);
 
     // Count orders by status — useful for dashboards / actuator metrics
-    long countByStatus(String status);
+    long countByStatus(OrderStatus status);
+
+    // Every status count in one scan; used to reconcile OrderStatusCounts
+    @Query("SELECT o.status AS status, COUNT(o) AS count FROM SupplyOrder o GROUP BY o.status")
+    List<StatusCount> countGroupedByStatus();
+
+    interface StatusCount {
+        OrderStatus getStatus();
+
+        long getCount();
+    }
+
+    // Status alone, for explaining a refused transition
+    @Query("SELECT o.status FROM SupplyOrder o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(Long id);
+
+    // OrderCache's loader. Read-write on purpose, so it always reads the primary: a
+    // miss right after an invalidation must not load (and cache for the full TTL) the
+    // pre-write row from a lagging replica.
+    @Transactional
+    @Query(SELECT_RESPONSE + "WHERE o.id = :id")
+    Optional<OrderResponse> findResponseById(Long id);
+
+    // ── Keyset pagination on (createdAt, id) ──────────────────────────────
+    // Each page seeks past the last row of the previous one, so the cost of a
+    // page does not grow with how deep into the table the client has scrolled.
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + "ORDER BY o.createdAt, o.id")
+    List<OrderResponse> findFirstPage(Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + "WHERE (o.createdAt, o.id) > (:createdAt, :id) ORDER BY o.createdAt, o.id")
+    List<OrderResponse> findPageAfter(LocalDateTime createdAt, Long id, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + "WHERE o.status = :status ORDER BY o.createdAt, o.id")
+    List<OrderResponse> findFirstPageByStatus(OrderStatus status, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_RESPONSE + "WHERE o.status = :status AND (o.createdAt, o.id) > (:createdAt, :id) "
+            + "ORDER BY o.createdAt, o.id")
+    List<OrderResponse> findPageByStatusAfter(OrderStatus status, LocalDateTime createdAt, Long id, Limit limit);
+
+    // ── Stalled orders (WarehousePipeline recovery) ───────────────────────
+    // Orders that have sat in a status since before the cutoff; the status index keeps
+    // this to the (small) PENDING / PROCESSING sets
+    @Transactional(readOnly = true)
+    @Query("SELECT o.id FROM SupplyOrder o WHERE o.status = :status AND o.updatedAt < :updatedBefore "
+            + "ORDER BY o.createdAt, o.id")
+    List<Long> findIdsByStatusUpdatedBefore(OrderStatus status, LocalDateTime updatedBefore, Limit limit);
+
+    // ── Archiving (OrderArchiver) ─────────────────────────────────────────
+    // Oldest orders in the given (terminal) statuses created before the cutoff, locked
+    // FOR UPDATE SKIP LOCKED so concurrent archivers take disjoint batches. The
+    // createdAt bound prunes the scan to the partitions before the cutoff.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM SupplyOrder o WHERE o.status IN :statuses AND o.createdAt < :createdBefore "
+            + "ORDER BY o.createdAt, o.id")
+    List<SupplyOrder> findArchivableForUpdate(Collection<OrderStatus> statuses, LocalDateTime createdBefore, Limit limit);
+
+    // Second half of the move, after ArchivedOrderRepository.copyFromOrders
+    @Modifying
+    @Query("DELETE FROM SupplyOrder o WHERE o.id IN :ids AND o.createdAt < :createdBefore")
+    int deleteArchived(Collection<Long> ids, LocalDateTime createdBefore);
+
+    // ── Full-table streaming for exports ──────────────────────────────────
+    // Must be consumed inside a read-only transaction: with autocommit off and a
+    // fetch size set, the PostgreSQL driver uses a server-side cursor instead of
+    // buffering the whole result set in memory.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT o FROM SupplyOrder o ORDER BY o.createdAt, o.id")
+    Stream<SupplyOrder> streamAll();
 }
@@ -0,0 +1,45 @@
+package com.sysco.supplyservice.repository;
+
+import com.sysco.supplyservice.dto.OrderCursor;
+import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.model.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Custom repository fragment: order search by item name.
+ *
+ * On PostgreSQL prefix search walks the B-tree on (lower(item_name), status,
+ * createdAt, id) (V9 migration) and is ordered the same way, so a page costs about
+ * as much as it returns whatever the prefix matches; its cursor carries the item
+ * name and status as well. Fuzzy search is served by the trigram index on
+ * lower(item_name) (V6 migration), which cannot return rows in order: every match
+ * in range is read and sorted on (createdAt, id), so callers bound the createdAt
+ * range. Status and the range are applied on top, and the range also prunes the
+ * monthly partitions.
+ */
+public interface OrderSearch {
+
+    // Orders matching the criteria after criteria.after (if set): by item name, status
+    // and createdAt for PREFIX, oldest first for FUZZY
+    @Transactional(readOnly = true)
+    List<OrderResponse> search(SearchCriteria criteria, Limit limit);
+
+    enum MatchMode {
+        // Item name starts with the text (case-insensitive)
+        PREFIX,
+        // Some part of the item name is trigram-similar to the text (pg_trgm word
+        // similarity of at least app.orders.search.fuzzy-threshold), so typos and
+        // partial words match; substring match on H2
+        FUZZY
+    }
+
+    // status, createdFrom (inclusive), createdBefore (exclusive) and after are optional;
+    // a PREFIX search's after must carry itemName and status
+    record SearchCriteria(String text, MatchMode mode, OrderStatus status,
+                          LocalDateTime createdFrom, LocalDateTime createdBefore, OrderCursor after) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.sysco.supplyservice.repository;
+
+import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.model.SupplyOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Native implementation of OrderSearch; the statement is assembled from the filters
+ * that are set, so each combination gets a plan of its own.
+ *
+ * PREFIX is lower(item_name) LIKE 'text%', with LIKE wildcards in the text escaped,
+ * ordered on (lower(item_name), status, created_at, id). On PostgreSQL the name is
+ * compared under the "C" collation, which is what the V9 B-tree is built on, so
+ * the LIKE and the ordering both come from that index.
+ * FUZZY is lower(item_name) %> text on PostgreSQL: pg_trgm word similarity of at
+ * least pg_trgm.word_similarity_threshold. That setting is whatever the server or
+ * role says, so each fuzzy search first sets it for its own transaction to
+ * app.orders.search.fuzzy-threshold; %> still reads it, which keeps the trigram index
+ * usable. H2 (tests) has no pg_trgm, so there FUZZY is lower(item_name) LIKE '%text%'.
+ * Fuzzy results are ordered on (created_at, id).
+ */
+class OrderSearchImpl implements OrderSearch {
+
+    // Result columns: id, item_name, quantity, status code, created_at, updated_at
+    private static final String SELECT =
+            "SELECT id, item_name, quantity, status, created_at, updated_at FROM supply_orders WHERE ";
+
+    private static final String LIKE_MATCH = " LIKE :pattern ESCAPE '\\'";
+    // Leading sort key of prefix search, and the same for the cursor's item name
+    private static final String NAME_KEY = "lower(item_name)";
+    private static final String AFTER_NAME_KEY = "lower(:afterItemName)";
+    private static final String POSTGRES_NAME_KEY = NAME_KEY + " COLLATE \"C\"";
+    private static final String POSTGRES_AFTER_NAME_KEY = AFTER_NAME_KEY + " COLLATE \"C\"";
+    private static final String TRIGRAM_MATCH = "lower(item_name) %> :text";
+    private static final String SET_THRESHOLD_SQL =
+            "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final String fuzzyThreshold;
+
+    private volatile Boolean postgres;
+
+    OrderSearchImpl(@Value("${app.orders.search.fuzzy-threshold:0.6}") double fuzzyThreshold) {
+        if (!(fuzzyThreshold > 0 && fuzzyThreshold <= 1)) {
+            throw new IllegalArgumentException("app.orders.search.fuzzy-threshold must be in (0, 1]: " + fuzzyThreshold);
+        }
+        this.fuzzyThreshold = Double.toString(fuzzyThreshold);
+    }
+
+    @Override
+    public List<OrderResponse> search(SearchCriteria criteria, Limit limit) {
+        String text = criteria.text().toLowerCase(Locale.ROOT);
+        boolean prefix = criteria.mode() == MatchMode.PREFIX;
+        boolean similarity = !prefix && postgres();
+        String nameKey = prefix && postgres() ? POSTGRES_NAME_KEY : NAME_KEY;
+
+        StringBuilder sql = new StringBuilder(SELECT).append(similarity ? TRIGRAM_MATCH : nameKey + LIKE_MATCH);
+        if (criteria.status() != null) {
+            sql.append(" AND status = :status");
+        }
+        if (criteria.createdFrom() != null) {
+            sql.append(" AND created_at >= :createdFrom");
+        }
+        if (criteria.createdBefore() != null) {
+            sql.append(" AND created_at < :createdBefore");
+        }
+        if (prefix) {
+            if (criteria.after() != null) {
+                // The cursor holds the item name as stored: lowered in SQL, like the key
+                sql.append(" AND (").append(nameKey).append(", status, created_at, id) > (")
+                        .append(postgres() ? POSTGRES_AFTER_NAME_KEY : AFTER_NAME_KEY)
+                        .append(", :afterStatus, :afterCreatedAt, :afterId)");
+            }
+            sql.append(" ORDER BY ").append(nameKey).append(", status, created_at, id LIMIT :limit");
+        } else {
+            if (criteria.after() != null) {
+                sql.append(" AND (created_at, id) > (:afterCreatedAt, :afterId)");
+            }
+            sql.append(" ORDER BY created_at, id LIMIT :limit");
+        }
+
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class);
+        // Only supply_orders is read: pending changes to other tables need no flush
+        query.addSynchronizedEntityClass(SupplyOrder.class);
+        if (similarity) {
+            query.setParameter("text", text);
+        } else if (prefix) {
+            query.setParameter("pattern", escapeLike(text) + "%");
+        } else {
+            query.setParameter("pattern", "%" + escapeLike(text) + "%");
+        }
+        if (criteria.status() != null) {
+            query.setParameter("status", criteria.status().code());
+        }
+        if (criteria.createdFrom() != null) {
+            query.setParameter("createdFrom", criteria.createdFrom());
+        }
+        if (criteria.createdBefore() != null) {
+            query.setParameter("createdBefore", criteria.createdBefore());
+        }
+        if (prefix && criteria.after() != null) {
+            query.setParameter("afterItemName", criteria.after().itemName());
+            query.setParameter("afterStatus", criteria.after().status().code());
+        }
+        if (criteria.after() != null) {
+            query.setParameter("afterCreatedAt", criteria.after().createdAt());
+            query.setParameter("afterId", criteria.after().id());
+        }
+        query.setParameter("limit", limit.max());
+
+        if (similarity) {
+            // Local to the search's transaction (always one: search is @Transactional)
+            entityManager.createNativeQuery(SET_THRESHOLD_SQL)
+                    .setParameter("threshold", fuzzyThreshold)
+                    .getSingleResult();
+        }
+        List<Object[]> rows = query.getResultList();
+        List<OrderResponse> results = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            results.add(new OrderResponse(
+                    ((Number) row[0]).longValue(),
+                    (String) row[1],
+                    ((Number) row[2]).intValue(),
+                    OrderStatus.fromCode(((Number) row[3]).shortValue()),
+                    toLocalDateTime(row[4]),
+                    toLocalDateTime(row[5])));
+        }
+        return results;
+    }
+
+    // Resolved once from the configured Hibernate dialect
+    private boolean postgres() {
+        Boolean resolved = postgres;
+        if (resolved == null) {
+            Object dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect();
+            resolved = dialect instanceof PostgreSQLDialect;
+            postgres = resolved;
+        }
+        return resolved;
+    }
+
+    // Search text is literal: its own % and _ must not act as wildcards
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,25 @@
+package com.sysco.supplyservice.repository;
+
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.model.SupplyOrder;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom repository fragment: set-based, conditional status changes.
+ *
+ * Each call is a single UPDATE statement that only touches rows still in one of
+ * the expected statuses and hands back the rows it actually changed, so callers
+ * learn what moved without a read before or after the write.
+ */
+public interface OrderStatusTransitions {
+
+    // Moves every order in ids whose status is one of fromStatuses to toStatus and
+    // returns the updated rows (detached) with the status each one left. Ids that
+    // were missing or in another status are simply absent from the result.
+    List<StatusChange> transitionStatus(Collection<Long> ids, Collection<OrderStatus> fromStatuses, OrderStatus toStatus);
+
+    record StatusChange(SupplyOrder order, OrderStatus previousStatus) {
+    }
+}
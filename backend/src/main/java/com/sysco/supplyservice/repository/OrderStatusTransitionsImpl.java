@@ -0,0 +1,110 @@
+package com.sysco.supplyservice.repository;
+
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.model.SupplyOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Native implementation of OrderStatusTransitions.
+ *
+ * PostgreSQL: UPDATE ... FROM a locking sub-select of the matching rows, RETURNING
+ * their previous status. A concurrent writer blocks on FOR UPDATE and then re-checks
+ * the status, so each row is moved (and reported) by exactly one statement. The join
+ * back to supply_orders includes created_at, the partition key, so the UPDATE itself
+ * touches only the partition holding each row; the sub-select, which only has the id,
+ * still probes every partition.
+ * H2 (tests) has no RETURNING clause but offers SELECT ... FROM OLD TABLE (UPDATE ...),
+ * which yields the pre-update rows. Either way it is one statement and one round trip;
+ * the new status and timestamp are the values this statement wrote.
+ *
+ * Statuses are bound and read back as their SMALLINT codes (OrderStatus.code()).
+ */
+class OrderStatusTransitionsImpl implements OrderStatusTransitions {
+
+    // Result columns: id, item_name, quantity, created_at, previous status code
+    private static final String POSTGRES_SQL =
+            "UPDATE supply_orders o SET status = :toStatus, updated_at = :updatedAt "
+            + "FROM (SELECT id, created_at, status FROM supply_orders "
+            + "WHERE id IN (:ids) AND status IN (:fromStatuses) FOR UPDATE) prev "
+            + "WHERE o.id = prev.id AND o.created_at = prev.created_at "
+            + "RETURNING o.id, o.item_name, o.quantity, o.created_at, prev.status";
+
+    private static final String H2_SQL =
+            "SELECT id, item_name, quantity, created_at, status FROM OLD TABLE ("
+            + "UPDATE supply_orders SET status = :toStatus, updated_at = :updatedAt "
+            + "WHERE id IN (:ids) AND status IN (:fromStatuses))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String sql;
+
+    @Override
+    public List<StatusChange> transitionStatus(Collection<Long> ids, Collection<OrderStatus> fromStatuses, OrderStatus toStatus) {
+        if (ids.isEmpty() || fromStatuses.isEmpty()) {
+            return List.of();
+        }
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql())
+                .unwrap(NativeQuery.class);
+        // Declares the table this statement writes, so Hibernate flushes and
+        // invalidates only what it has to
+        query.addSynchronizedEntityClass(SupplyOrder.class);
+        query.setParameter("toStatus", toStatus.code());
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        query.setParameter("updatedAt", updatedAt);
+        query.setParameterList("ids", ids);
+        query.setParameterList("fromStatuses", fromStatuses.stream().map(OrderStatus::code).toList());
+
+        List<Object[]> rows = query.getResultList();
+        List<StatusChange> changes = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            changes.add(new StatusChange(toOrder(row, toStatus, updatedAt),
+                    OrderStatus.fromCode(((Number) row[4]).shortValue())));
+        }
+        return changes;
+    }
+
+    // Resolved once from the configured Hibernate dialect
+    private String sql() {
+        String resolved = sql;
+        if (resolved == null) {
+            Object dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect();
+            resolved = dialect instanceof H2Dialect ? H2_SQL : POSTGRES_SQL;
+            sql = resolved;
+        }
+        return resolved;
+    }
+
+    private static SupplyOrder toOrder(Object[] row, OrderStatus status, LocalDateTime updatedAt) {
+        SupplyOrder order = new SupplyOrder();
+        order.setId(((Number) row[0]).longValue());
+        order.setItemName((String) row[1]);
+        order.setQuantity(((Number) row[2]).intValue());
+        order.setCreatedAt(toLocalDateTime(row[3]));
+        order.setStatus(status);
+        order.setUpdatedAt(updatedAt);
+        return order;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
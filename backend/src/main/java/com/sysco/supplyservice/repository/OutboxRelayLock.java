@@ -0,0 +1,16 @@
+package com.sysco.supplyservice.repository;
+
+/**
+ * Custom repository fragment: the cluster-wide relay lock.
+ *
+ * Only one OutboxRelay batch may be in flight across all service instances. Batches
+ * taken concurrently could hold events of the same order and publish them in either
+ * order, so the relay takes this lock before selecting a batch.
+ */
+public interface OutboxRelayLock {
+
+    // Takes the lock for the current transaction (released at commit or rollback);
+    // false if another instance holds it. Always true where there is nothing to lock
+    // against (H2 in tests: one process).
+    boolean tryLockRelay();
+}
@@ -0,0 +1,43 @@
+package com.sysco.supplyservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * PostgreSQL implementation of OutboxRelayLock: a transaction-level advisory lock,
+ * so a relay that dies mid-batch releases it with its connection. Must run inside a
+ * transaction.
+ */
+class OutboxRelayLockImpl implements OutboxRelayLock {
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('order_outbox_relay'))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean advisoryLocks;
+
+    @Override
+    public boolean tryLockRelay() {
+        if (!advisoryLocks()) {
+            return true;
+        }
+        return (Boolean) entityManager.createNativeQuery(TRY_LOCK_SQL).getSingleResult();
+    }
+
+    // Resolved once from the configured Hibernate dialect
+    private boolean advisoryLocks() {
+        Boolean resolved = advisoryLocks;
+        if (resolved == null) {
+            Object dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect();
+            resolved = dialect instanceof PostgreSQLDialect;
+            advisoryLocks = resolved;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,40 @@
+package com.sysco.supplyservice.repository;
+
+import com.sysco.supplyservice.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long>, OutboxRelayLock {
+
+    // Oldest unsent events in id order, locked FOR UPDATE (SKIP LOCKED, lock timeout -2).
+    // The relay holds OutboxRelayLock while it runs this, so one batch is in flight at
+    // a time; the row locks only keep a stray second reader from sending a row twice.
+    // Events of an order with a dead-lettered event wait until that one is replayed.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.sentAt IS NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM DeadLetterEvent d WHERE d.orderId = e.orderId) ORDER BY e.id")
+    List<OutboxEvent> findUnsentForUpdate(Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.sentAt = :sentAt WHERE e.id IN :ids")
+    int markSent(List<Long> ids, LocalDateTime sentAt);
+
+    // Housekeeping — sent rows are only kept for troubleshooting
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.sentAt < :cutoff")
+    int deleteSentBefore(LocalDateTime cutoff);
+
+    long countBySentAtIsNull();
+}
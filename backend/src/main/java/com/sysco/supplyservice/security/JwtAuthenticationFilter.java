@@ -1,5 +1,6 @@
 package com.sysco.supplyservice.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -36,13 +37,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String jwt = authHeader.substring(7);
-        if (!jwtService.isTokenValid(jwt) || SecurityContextHolder.getContext().getAuthentication() != null) {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String username = jwtService.extractUsername(jwt);
+        // One verification per request (usually a cache hit in JwtService)
+        String jwt = authHeader.substring(7);
+        String username = jwtService.verify(jwt).map(Claims::getSubject).orElse(null);
         if (username == null || username.isBlank()) {
             filterChain.doFilter(request, response);
             return;
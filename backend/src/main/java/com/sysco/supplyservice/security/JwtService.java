@@ -1,41 +1,128 @@
 package com.sysco.supplyservice.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Verifies bearer tokens.
+ *
+ * The parser is built once (it is immutable and thread-safe). Verified claims are
+ * cached by SHA-256 digest of the token, so repeat callers skip the signature check
+ * and JSON parsing; the raw token is never kept. An entry lives until the token's
+ * exp or app.jwt.cache.ttl, whichever comes first. Rejected tokens are not cached.
+ *
+ * Metrics:
+ *  - jwt.verification{result=valid|invalid}  time per verify() call (what JwtAuthenticationFilter waits on)
+ *  - CaffeineCacheMetrics, cache=jwt: cache.gets{result=hit|miss}, cache.evictions
+ */
 @Service
 public class JwtService {
 
-    private final SecretKey secretKey;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verified;
+    private final Timer validTokens;
+    private final Timer invalidTokens;
 
-    public JwtService(@Value("${app.jwt.secret}") String jwtSecret) {
-        this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public JwtService(
+            @Value("${app.jwt.secret}") String jwtSecret,
+            @Value("${app.jwt.cache.max-size:10000}") long cacheSize,
+            @Value("${app.jwt.cache.ttl:5m}") Duration cacheTtl,
+            MeterRegistry meterRegistry
+    ) {
+        SecretKey secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(untilTokenExpiry(cacheTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt");
+        this.validTokens = verificationTimer(meterRegistry, "valid");
+        this.invalidTokens = verificationTimer(meterRegistry, "invalid");
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+    // Claims of a valid token, or empty if the signature, format or expiry is wrong
+    public Optional<Claims> verify(String token) {
+        long start = System.nanoTime();
+        Optional<Claims> claims = verifyUntimed(token);
+        (claims.isPresent() ? validTokens : invalidTokens).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
     }
 
-    public boolean isTokenValid(String token) {
-        try {
-            extractAllClaims(token);
-            return true;
-        } catch (Exception ex) {
-            return false;
+    private Optional<Claims> verifyUntimed(String token) {
+        String digest = digest(token);
+        Claims claims = verified.getIfPresent(digest);
+        if (claims == null) {
+            try {
+                claims = parser.parseSignedClaims(token).getPayload();
+            } catch (JwtException | IllegalArgumentException ex) {
+                return Optional.empty();
+            }
+            verified.put(digest, claims);
         }
+        return Optional.of(claims);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("jwt.verification")
+                .description("Bearer token verification, cache hits included")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static Expiry<String, Claims> untilTokenExpiry(Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                Date exp = claims.getExpiration();
+                if (exp == null) {
+                    return ttlNanos;
+                }
+                long untilExp = Duration.ofMillis(exp.getTime() - System.currentTimeMillis()).toNanos();
+                return Math.max(0, Math.min(ttlNanos, untilExp));
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
     }
 }
@@ -0,0 +1,150 @@
+package com.sysco.supplyservice.service;
+
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.model.SupplyOrder;
+import com.sysco.supplyservice.repository.ArchivedOrderRepository;
+import com.sysco.supplyservice.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves SHIPPED and CANCELLED orders older than min-age (by createdAt) from
+ * supply_orders to supply_orders_archive, so the hot table, its indexes and its
+ * vacuum work track the active orders rather than the whole history.
+ *
+ * Each run:
+ *  1. creates the monthly partitions through partitions-ahead months from now, and
+ *     moves any rows the default partition holds for those or earlier months into theirs
+ *  2. archives in batches of batch-size, one transaction per batch: lock the oldest
+ *     eligible orders (SKIP LOCKED, so instances share the work), copy them into the
+ *     archive, delete them. Every committed state has each order in exactly one table.
+ *  3. drops the partitions that ended before the cutoff and are now empty
+ * Partition steps only apply on PostgreSQL (see OrderPartitions).
+ *
+ * Archived orders stay readable through GET /api/orders/{id}: OrderService falls back
+ * to the archive. Listings, the export and the status counts cover supply_orders only.
+ * Cached entries stay valid, as a terminal order never changes again.
+ *
+ * Metrics:
+ *  - orders.archived          orders moved to the archive
+ *  - orders.archive.duration  one run (partitions + all batches)
+ */
+@Component
+@ConditionalOnProperty(name = "app.orders.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private static final Set<OrderStatus> TERMINAL = EnumSet.copyOf(Arrays.stream(OrderStatus.values())
+            .filter(OrderStatus::isTerminal)
+            .toList());
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderStatusCounts statusCounts;
+    private final TransactionOperations transactionTemplate;
+    private final Duration minAge;
+    private final int batchSize;
+    private final int partitionsAhead;
+    private final Counter archived;
+    private final Timer runDuration;
+
+    public OrderArchiver(
+            OrderRepository orderRepository,
+            ArchivedOrderRepository archivedOrderRepository,
+            OrderStatusCounts statusCounts,
+            TransactionOperations transactionTemplate,
+            @Value("${app.orders.archive.min-age:30d}") Duration minAge,
+            @Value("${app.orders.archive.batch-size:1000}") int batchSize,
+            @Value("${app.orders.archive.partitions-ahead:12}") int partitionsAhead,
+            MeterRegistry meterRegistry
+    ) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.statusCounts = statusCounts;
+        this.transactionTemplate = transactionTemplate;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.partitionsAhead = partitionsAhead;
+        this.archived = Counter.builder("orders.archived")
+                .description("Terminal orders moved to supply_orders_archive")
+                .register(meterRegistry);
+        this.runDuration = Timer.builder("orders.archive.duration")
+                .description("One archiver run: partition upkeep and every batch")
+                .register(meterRegistry);
+    }
+
+    // ── Scheduled run ─────────────────────────────────────────────────────
+    // Runs at startup (initial delay 0) and then on a fixed delay.
+    @Scheduled(fixedDelayString = "${app.orders.archive.interval:1h}")
+    public void run() {
+        Timer.Sample sample = Timer.start();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(minAge);
+        try {
+            List<String> created = transactionTemplate.execute(
+                    tx -> orderRepository.createPartitions(now, now.plusMonths(partitionsAhead)));
+            if (created != null && !created.isEmpty()) {
+                log.info("Created order partitions {}", created);
+            }
+
+            int moved = archive(cutoff);
+            if (moved > 0) {
+                log.info("Archived {} terminal orders created before {}", moved, cutoff);
+            }
+
+            List<String> dropped = transactionTemplate.execute(tx -> orderRepository.dropEmptyPartitions(cutoff));
+            if (dropped != null && !dropped.isEmpty()) {
+                log.info("Dropped empty order partitions {}", dropped);
+            }
+        } catch (RuntimeException ex) {
+            // Each batch committed on its own; the next run picks up from there
+            log.warn("Order archiving failed, retrying next run: {}", ex.getMessage());
+        } finally {
+            sample.stop(runDuration);
+        }
+    }
+
+    // Archives every eligible order created before the cutoff; returns how many moved
+    int archive(LocalDateTime cutoff) {
+        int total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(tx -> archiveBatch(cutoff));
+            int count = moved == null ? 0 : moved;
+            archived.increment(count);
+            total += count;
+            if (count < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<SupplyOrder> batch = orderRepository.findArchivableForUpdate(TERMINAL, cutoff, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = batch.stream().map(SupplyOrder::getId).toList();
+        archivedOrderRepository.copyFromOrders(ids, cutoff, LocalDateTime.now());
+        orderRepository.deleteArchived(ids, cutoff);
+        statusCounts.recordArchived(batch.stream().map(SupplyOrder::getStatus).toList());
+        log.debug("Archived batch of {} orders (ids {}..{})", ids.size(), ids.get(0), ids.get(ids.size() - 1));
+        return ids.size();
+    }
+}
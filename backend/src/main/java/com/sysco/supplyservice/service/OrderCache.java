@@ -0,0 +1,78 @@
+package com.sysco.supplyservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sysco.supplyservice.dto.OrderResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Local read-through cache of OrderResponse by id, in front of GET /api/orders/{id}.
+ *
+ * Bounded by entry count and by time since load. Entries are dropped when an order
+ * changes status: here once the changing transaction commits, and on other
+ * instances by OrderCacheInvalidator when the status event arrives on orders-topic.
+ * The TTL bounds staleness if an event is late or missed.
+ *
+ * A load and an invalidation of the same id are serialized by the cache, so an
+ * invalidation issued after commit also removes a value loaded before it.
+ *
+ * Metrics (CaffeineCacheMetrics, cache=orders): cache.gets{result=hit|miss},
+ * cache.evictions, cache.size, cache.puts.
+ */
+@Component
+public class OrderCache {
+
+    private final Cache<Long, OrderResponse> cache;
+
+    public OrderCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.orders.cache.max-size:10000}") long maxSize,
+            @Value("${app.orders.cache.ttl:30s}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders");
+    }
+
+    // Cached response, or loader's result (cached); exceptions from loader are not cached
+    public OrderResponse get(Long id, Function<Long, OrderResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    // ── Invalidation ──────────────────────────────────────────────────────
+    // Local writes: applied after commit, so a concurrent read cannot re-cache the old row
+    public void invalidateAfterCommit(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> toEvict = List.copyOf(ids);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(toEvict);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(toEvict);
+            }
+        });
+    }
+
+    // Changes already committed elsewhere (status events from orders-topic)
+    public void invalidate(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+}
@@ -0,0 +1,350 @@
+package com.sysco.supplyservice.service;
+
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.model.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans order events out to Server-Sent Events clients (GET /api/orders/stream), so
+ * the console and partner portals no longer poll GET /api/orders for changes.
+ *
+ * OrderStreamListener hands every event on orders-topic to publish(). A client
+ * subscribes to everything, to some statuses, or to some order ids. Each client has
+ * its own bounded queue, drained by a sender task: the Kafka listener only enqueues,
+ * so a slow client holds up neither the listener nor the other clients. A client
+ * whose queue overflows is disconnected; its EventSource reconnects with Last-Event-ID
+ * and catches up from the replay window.
+ *
+ * An event id is a stream position: the newest offset published per partition,
+ * "partition-offset" pairs such as "0-41,1-17", taken just after that event. Instances
+ * interleave partitions differently, but every one sees each partition in offset order,
+ * so a position means the same thing on any instance. The last replay-size events are
+ * kept: a client resuming from a position the window still covers gets every event
+ * with a higher offset on its partition, and live events at or below the position are
+ * skipped. Otherwise (position too old or unparseable, a partition this instance has
+ * not seen, or more than a client buffer behind) it gets a single "reset" event and
+ * should reload the list once.
+ *
+ * Metrics:
+ *  - orders.stream.clients           connected clients
+ *  - orders.stream.events.sent       events queued to clients
+ *  - orders.stream.clients.dropped   clients disconnected for falling behind
+ */
+@Service
+public class OrderEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventBroadcaster.class);
+
+    static final String RESET_EVENT = "reset";
+
+    // Queue markers; real events always carry an id
+    private static final StreamedEvent HEARTBEAT = new StreamedEvent(null, null, -1, -1);
+
+    private final int clientBuffer;
+    private final int replaySize;
+    private final Duration timeout;
+    private final ExecutorService senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter sent;
+    private final Counter dropped;
+
+    // Guards the replay window, and orders publish() against subscribe() so a resuming
+    // client sees every event exactly once: replayed, or live — never both or neither
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<StreamedEvent> replay;
+    // Per partition: the newest offset published, and the newest offset the window can
+    // no longer replay (evicted, or just before the first one this instance saw)
+    private final Map<Integer, Long> highWater = new TreeMap<>();
+    private final Map<Integer, Long> floor = new HashMap<>();
+
+    public OrderEventBroadcaster(
+            MeterRegistry meterRegistry,
+            @Value("${app.orders.stream.client-buffer:256}") int clientBuffer,
+            @Value("${app.orders.stream.replay-size:10000}") int replaySize,
+            @Value("${app.orders.stream.timeout:30m}") Duration timeout,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.clientBuffer = clientBuffer;
+        this.replaySize = replaySize;
+        this.timeout = timeout;
+        this.replay = new ArrayDeque<>(replaySize);
+        // A sender blocks while its client's socket is full: one thread per busy client
+        this.senders = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("order-stream-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("order-stream-", 0).daemon().factory());
+        this.sent = Counter.builder("orders.stream.events.sent")
+                .description("Order events queued to stream clients")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("orders.stream.clients.dropped")
+                .description("Stream clients disconnected for falling behind")
+                .register(meterRegistry);
+        Gauge.builder("orders.stream.clients", subscribers, Set::size)
+                .description("Connected order stream clients")
+                .register(meterRegistry);
+    }
+
+    // An event with its stream id (the position after it) and Kafka coordinates
+    record StreamedEvent(String id, OrderEvent event, int partition, long offset) {
+    }
+
+    // ── Subscribe ─────────────────────────────────────────────────────────
+    // Empty statuses / orderIds mean "any"
+    public SseEmitter subscribe(Collection<String> statuses, Collection<Long> orderIds, String lastEventId) {
+        Set<String> statusNames = new HashSet<>();
+        if (statuses != null) {
+            for (String status : statuses) {
+                statusNames.add(OrderStatus.parse(status).name());
+            }
+        }
+        Set<Long> ids = orderIds == null ? Set.of() : Set.copyOf(orderIds);
+
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter, statusNames, ids);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+
+        lock.lock();
+        try {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                resume(subscriber, lastEventId.trim());
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        log.debug("ORDER STREAM: client subscribed (statuses={}, orderIds={}, lastEventId={}), {} connected",
+                statusNames, ids, lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    // Called under lock
+    private void resume(Subscriber subscriber, String lastEventId) {
+        Map<Integer, Long> lastSeen = parsePosition(lastEventId);
+        if (lastSeen == null || !covers(lastSeen)) {
+            subscriber.offer(reset());
+            return;
+        }
+        List<StreamedEvent> missed = new ArrayList<>();
+        for (StreamedEvent streamed : replay) {
+            if (streamed.offset() > lastSeen.getOrDefault(streamed.partition(), -1L)
+                    && subscriber.matches(streamed.event())) {
+                missed.add(streamed);
+            }
+        }
+        if (missed.size() >= clientBuffer) {
+            subscriber.offer(reset());
+            return;
+        }
+        subscriber.resumedFrom = lastSeen;
+        missed.forEach(subscriber::offer);
+        sent.increment(missed.size());
+    }
+
+    // Called under lock. Whether the window still holds every event after lastSeen,
+    // on each partition either side knows of.
+    private boolean covers(Map<Integer, Long> lastSeen) {
+        if (!floor.keySet().containsAll(lastSeen.keySet())) {
+            return false;
+        }
+        for (Map.Entry<Integer, Long> entry : floor.entrySet()) {
+            if (lastSeen.getOrDefault(entry.getKey(), -1L) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Carries the current position, so the client resumes from here once it has reloaded
+    private StreamedEvent reset() {
+        return new StreamedEvent(highWater.isEmpty() ? null : position(), null, -1, -1);
+    }
+
+    // Called under lock
+    private String position() {
+        StringJoiner id = new StringJoiner(",");
+        highWater.forEach((partition, offset) -> id.add(partition + "-" + offset));
+        return id.toString();
+    }
+
+    // Inverse of position(); null if the id is not one
+    static Map<Integer, Long> parsePosition(String id) {
+        Map<Integer, Long> position = new HashMap<>();
+        try {
+            for (String pair : id.split(",")) {
+                int dash = pair.indexOf('-');
+                position.put(Integer.parseInt(pair.substring(0, dash)), Long.parseLong(pair.substring(dash + 1)));
+            }
+        } catch (NumberFormatException | StringIndexOutOfBoundsException ex) {
+            return null;
+        }
+        return position;
+    }
+
+    // ── Publish (from OrderStreamListener) ────────────────────────────────
+    public void publish(OrderEvent event, int partition, long offset) {
+        lock.lock();
+        try {
+            floor.putIfAbsent(partition, offset - 1);
+            highWater.merge(partition, offset, Math::max);
+            StreamedEvent streamed = new StreamedEvent(position(), event, partition, offset);
+            if (replay.size() == replaySize) {
+                StreamedEvent evicted = replay.removeFirst();
+                floor.merge(evicted.partition(), evicted.offset(), Math::max);
+            }
+            replay.addLast(streamed);
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.wants(streamed) && subscriber.offer(streamed)) {
+                    sent.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ── Heartbeat ─────────────────────────────────────────────────────────
+    // Keeps idle connections open through proxies and finds clients that have gone away
+    @Scheduled(fixedDelayString = "${app.orders.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    int clientCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Iterator<Subscriber> it = subscribers.iterator(); it.hasNext(); ) {
+            Subscriber subscriber = it.next();
+            it.remove();
+            subscriber.closed = true;
+            subscriber.emitter.complete();
+        }
+        senders.shutdown();
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(StreamedEvent streamed) {
+        if (streamed == HEARTBEAT) {
+            return SseEmitter.event().comment("keep-alive");
+        }
+        SseEmitter.SseEventBuilder sse = SseEmitter.event();
+        if (streamed.id() != null) {
+            sse.id(streamed.id());
+        }
+        if (streamed.event() == null) {
+            return sse.name(RESET_EVENT).data("replay window exceeded, reload orders");
+        }
+        return sse.name(streamed.event().type().name()).data(streamed.event(), MediaType.APPLICATION_JSON);
+    }
+
+    // ── One connected client ──────────────────────────────────────────────
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<String> statuses;
+        private final Set<Long> orderIds;
+        private final BlockingQueue<StreamedEvent> queue = new ArrayBlockingQueue<>(clientBuffer);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // Position this client resumed from; set and read under lock
+        private Map<Integer, Long> resumedFrom;
+
+        private Subscriber(SseEmitter emitter, Set<String> statuses, Set<Long> orderIds) {
+            this.emitter = emitter;
+            this.statuses = statuses;
+            this.orderIds = orderIds;
+        }
+
+        private boolean matches(OrderEvent event) {
+            return (statuses.isEmpty() || statuses.contains(event.status()))
+                    && (orderIds.isEmpty() || orderIds.contains(event.orderId()));
+        }
+
+        // Live events it already had from another instance are skipped
+        private boolean wants(StreamedEvent streamed) {
+            return matches(streamed.event())
+                    && (resumedFrom == null || streamed.offset() > resumedFrom.getOrDefault(streamed.partition(), -1L));
+        }
+
+        // Never blocks: a full queue means the client cannot keep up, so it is dropped
+        private boolean offer(StreamedEvent streamed) {
+            if (closed) {
+                return false;
+            }
+            if (!queue.offer(streamed)) {
+                dropped.increment();
+                log.info("ORDER STREAM: dropping client {} events behind", queue.size());
+                close();
+                // complete() waits for a send in progress; keep that off the caller's thread
+                senders.execute(emitter::complete);
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            do {
+                StreamedEvent next;
+                while (!closed && (next = queue.poll()) != null) {
+                    try {
+                        emitter.send(toSse(next));
+                    } catch (IOException | IllegalStateException ex) {
+                        // Client went away (or the emitter already completed)
+                        close();
+                    }
+                }
+                draining.set(false);
+            } while (!closed && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sysco.supplyservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.model.SupplyOrder;
+import com.sysco.supplyservice.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams every order as newline-delimited JSON (one OrderResponse per line).
+ *
+ * Rows come from a server-side cursor and each entity is detached as soon as it
+ * is written, so heap use stays constant no matter how many orders are exported.
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExportService.class);
+
+    // Push bytes to the client every N rows rather than on every line
+    private static final int FLUSH_EVERY = 1000;
+
+    private final OrderRepository orderRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(OrderRepository orderRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(OrderResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // ── Write all orders to the given stream ──────────────────────────────
+    // The caller owns the stream; it is flushed but never closed here.
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out) throws IOException {
+        log.info("Starting NDJSON order export");
+        long count = 0;
+
+        try (Stream<SupplyOrder> orders = orderRepository.streamAll();
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<SupplyOrder> it = orders.iterator();
+            while (it.hasNext()) {
+                SupplyOrder order = it.next();
+                writer.writeValue(generator, OrderService.toResponse(order));
+                generator.writeRaw('\n');
+                entityManager.detach(order);
+
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+
+        log.info("NDJSON order export finished: {} orders", count);
+        return count;
+    }
+}
@@ -1,138 +1,475 @@
 package com.sysco.supplyservice.service;
 
+import com.sysco.supplyservice.dto.OrderBatchItemResult;
+import com.sysco.supplyservice.dto.OrderBatchResponse;
+import com.sysco.supplyservice.dto.OrderBulkStatusResponse;
+import com.sysco.supplyservice.dto.OrderCursor;
+import com.sysco.supplyservice.dto.OrderPage;
 import com.sysco.supplyservice.dto.OrderRequest;
 import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.dto.OrderStatusSummary;
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.exception.InvalidStatusTransitionException;
 import com.sysco.supplyservice.exception.OrderNotFoundException;
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.model.OutboxEvent;
 import com.sysco.supplyservice.model.SupplyOrder;
+import com.sysco.supplyservice.repository.ArchivedOrderRepository;
 import com.sysco.supplyservice.repository.OrderRepository;
-import io.github.resilience4j.retry.annotation.Retry;
+import com.sysco.supplyservice.repository.OrderSearch.MatchMode;
+import com.sysco.supplyservice.repository.OrderSearch.SearchCriteria;
+import com.sysco.supplyservice.repository.OrderStatusTransitions.StatusChange;
+import com.sysco.supplyservice.repository.OutboxRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Core business logic for order management.
  *
  * Key enterprise patterns used:
  *  - SLF4J structured logging (timestamped, level-filtered, written to file)
- *  - @Retry (Resilience4j): Kafka publish retried up to 3x on failure
- *  - DTOs: request/response separation from the JPA entity
- *  - Status validation: only permitted transitions are allowed
+ *  - Transactional outbox: events are stored with the order change and relayed
+ *    to Kafka by OutboxRelay, so requests never wait on the broker
+ *  - DTOs: request/response separation from the JPA entity; list and by-id reads
+ *    select straight into OrderResponse, without loading entities
+ *  - Status transitions: checked against the OrderStatus table and applied
+ *    with a single conditional UPDATE (409 when the order has moved on)
+ *  - Read-through OrderCache for single-order lookups, invalidated on status changes
+ *  - Archived orders (OrderArchiver) are still found by id: lookups fall back to
+ *    supply_orders_archive
+ *  - Item-name search (OrderSearch): prefix or trigram matching, keyset-paged like the
+ *    listings; fuzzy search needs a bounded createdAt range
+ *
+ * Metrics: orders.service{method=...} times every public operation (TimedAspect,
+ * enabled by management.observations.annotations.enabled).
  */
 @Service
+@Timed(value = "orders.service", description = "OrderService operations")
 public class OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
-    private static final String ORDERS_TOPIC = "orders-topic";
 
-    // Valid statuses for validation
-    private static final Set<String> VALID_STATUSES = Set.of("PENDING", "PROCESSING", "SHIPPED", "CANCELLED");
+    // Page size bounds for order listings
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    // Search text bounds: shorter text has no full trigram to look up in the index,
+    // longer text cannot match a 255-character item name
+    static final int MIN_SEARCH_LENGTH = 3;
+    static final int MAX_SEARCH_LENGTH = 255;
+    // Widest createdAt range of a fuzzy search: the trigram index returns matches
+    // unordered, so every match in the range is read and sorted for each page
+    static final Duration MAX_FUZZY_SEARCH_RANGE = Duration.ofDays(7);
+
+    // Upper bound on entries accepted by one batch request
+    static final int MAX_BATCH_SIZE = 1000;
+
+    // Bulk status changes: ids accepted per request, and ids per UPDATE statement
+    static final int MAX_BULK_STATUS_SIZE = 10_000;
+    static final int STATUS_UPDATE_CHUNK_SIZE = 1000;
 
     private final OrderRepository orderRepository;
-    private final KafkaOperations<String, String> kafkaTemplate;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OutboxRepository outboxRepository;
+    private final Validator validator;
+    private final OrderStatusCounts statusCounts;
+    private final OrderCache orderCache;
 
-    public OrderService(OrderRepository orderRepository, KafkaOperations<String, String> kafkaTemplate) {
+    public OrderService(OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository,
+                        OutboxRepository outboxRepository, Validator validator,
+                        OrderStatusCounts statusCounts, OrderCache orderCache) {
         this.orderRepository = orderRepository;
-        this.kafkaTemplate = kafkaTemplate;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.outboxRepository = outboxRepository;
+        this.validator = validator;
+        this.statusCounts = statusCounts;
+        this.orderCache = orderCache;
     }
 
     // ── Create a new order ─────────────────────────────────────────────────
+    @Transactional
     public OrderResponse placeOrder(OrderRequest request) {
         log.info("Placing new order: item='{}', quantity={}", request.getItemName(), request.getQuantity());
 
         SupplyOrder order = new SupplyOrder();
         order.setItemName(request.getItemName());
         order.setQuantity(request.getQuantity());
-        order.setStatus("PENDING");
+        order.setStatus(OrderStatus.PENDING);
 
         SupplyOrder saved = orderRepository.save(order);
         log.debug("Order persisted to DB: id={}", saved.getId());
 
         publishOrderEvent(saved);
+        statusCounts.recordCreated(1);
         return toResponse(saved);
     }
 
-    // ── Get all orders ─────────────────────────────────────────────────────
-    public List<OrderResponse> getAllOrders() {
-        log.debug("Fetching all orders");
-        return orderRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .toList();
+    // ── Create many orders in one request ──────────────────────────────────
+    // Entries are validated one by one so a bad entry only rejects itself.
+    // Valid entries are inserted in one transaction (Hibernate JDBC batching,
+    // ids pre-allocated from the sequence) together with their outbox events.
+    @Transactional
+    public OrderBatchResponse placeOrders(List<OrderRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one order");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                "Batch of " + requests.size() + " orders exceeds the limit of " + MAX_BATCH_SIZE);
+        }
+        log.info("Placing batch of {} orders", requests.size());
+
+        OrderBatchItemResult[] results = new OrderBatchItemResult[requests.size()];
+        List<SupplyOrder> toSave = new ArrayList<>();
+        List<Integer> savedIndexes = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validationError(requests.get(i));
+            if (error != null) {
+                results[i] = OrderBatchItemResult.rejected(i, error);
+                continue;
+            }
+            SupplyOrder order = new SupplyOrder();
+            order.setItemName(requests.get(i).getItemName());
+            order.setQuantity(requests.get(i).getQuantity());
+            order.setStatus(OrderStatus.PENDING);
+            toSave.add(order);
+            savedIndexes.add(i);
+        }
+
+        List<SupplyOrder> saved = orderRepository.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = savedIndexes.get(i);
+            results[index] = OrderBatchItemResult.created(index, toResponse(saved.get(i)));
+        }
+        log.debug("Batch persisted to DB: {} orders", saved.size());
+
+        if (!saved.isEmpty()) {
+            publishOrderEvents(saved);
+            statusCounts.recordCreated(saved.size());
+        }
+        int rejected = requests.size() - saved.size();
+        return new OrderBatchResponse(saved.size(), rejected, Arrays.asList(results));
     }
 
-    // ── Get orders filtered by status ──────────────────────────────────────
-    public List<OrderResponse> getOrdersByStatus(String status) {
-        log.debug("Fetching orders with status='{}'", status);
-        return orderRepository.findByStatus(status.toUpperCase())
-                .stream()
-                .map(this::toResponse)
-                .toList();
+    // ── Get all orders, one keyset page at a time ───────────────────────────
+    public OrderPage getAllOrders(String cursor, Integer limit) {
+        int size = pageSize(limit);
+        log.debug("Fetching orders page: cursor={}, size={}", cursor, size);
+
+        Limit fetch = Limit.of(size + 1);
+        List<OrderResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = orderRepository.findFirstPage(fetch);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            rows = orderRepository.findPageAfter(after.createdAt(), after.id(), fetch);
+        }
+        return toPage(rows, size);
+    }
+
+    // ── Get orders filtered by status, one keyset page at a time ───────────
+    public OrderPage getOrdersByStatus(String status, String cursor, Integer limit) {
+        OrderStatus target = OrderStatus.parse(status);
+        int size = pageSize(limit);
+        log.debug("Fetching orders page with status={}: cursor={}, size={}", target, cursor, size);
+
+        Limit fetch = Limit.of(size + 1);
+        List<OrderResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = orderRepository.findFirstPageByStatus(target, fetch);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            rows = orderRepository.findPageByStatusAfter(target, after.createdAt(), after.id(), fetch);
+        }
+        return toPage(rows, size);
+    }
+
+    // ── Search orders by item name, one keyset page at a time ─────────────
+    // mode is prefix (default) or fuzzy; status and the createdAt range [from, to) are
+    // optional, with from/to as ISO dates or date-times, except that fuzzy needs both
+    // ends and at most MAX_FUZZY_SEARCH_RANGE between them. Prefix results come by
+    // item name, then status and createdAt; fuzzy results oldest first. Covers
+    // supply_orders only, not the archive.
+    public OrderPage searchOrders(String query, String mode, String status, String from, String to,
+                                  String cursor, Integer limit) {
+        String text = query == null ? "" : query.trim();
+        if (text.length() < MIN_SEARCH_LENGTH || text.length() > MAX_SEARCH_LENGTH) {
+            throw new IllegalArgumentException("Invalid search text '" + text + "'. Must be "
+                    + MIN_SEARCH_LENGTH + " to " + MAX_SEARCH_LENGTH + " characters");
+        }
+        MatchMode matchMode = matchMode(mode);
+        OrderStatus target = status == null || status.isBlank() ? null : OrderStatus.parse(status);
+        LocalDateTime createdFrom = searchDate("from", from);
+        LocalDateTime createdBefore = searchDate("to", to);
+        if (createdFrom != null && createdBefore != null && !createdFrom.isBefore(createdBefore)) {
+            throw new IllegalArgumentException("Invalid date range: from " + from + " is not before to " + to);
+        }
+        if (matchMode == MatchMode.FUZZY && (createdFrom == null || createdBefore == null
+                || Duration.between(createdFrom, createdBefore).compareTo(MAX_FUZZY_SEARCH_RANGE) > 0)) {
+            throw new IllegalArgumentException("Fuzzy search needs from and to at most "
+                    + MAX_FUZZY_SEARCH_RANGE.toDays() + " days apart");
+        }
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+        if (after != null && matchMode == MatchMode.PREFIX && after.itemName() == null) {
+            throw new IllegalArgumentException("Invalid cursor '" + cursor + "' for a prefix search");
+        }
+        int size = pageSize(limit);
+        log.debug("Searching orders for '{}' ({}): status={}, from={}, to={}, cursor={}, size={}",
+                text, matchMode, target, createdFrom, createdBefore, cursor, size);
+
+        List<OrderResponse> rows = orderRepository.search(
+                new SearchCriteria(text, matchMode, target, createdFrom, createdBefore, after),
+                Limit.of(size + 1));
+        return matchMode == MatchMode.PREFIX
+                ? toPage(rows, size, last -> new OrderCursor(
+                        last.getCreatedAt(), last.getId(), last.getItemName(), OrderStatus.valueOf(last.getStatus())))
+                : toPage(rows, size);
+    }
+
+    // ── Order counts per status ────────────────────────────────────────────
+    // Served from OrderStatusCounts; no query against supply_orders
+    public OrderStatusSummary getStatusSummary() {
+        return statusCounts.summary();
     }
 
     // ── Get a single order by ID ───────────────────────────────────────────
+    // Served from OrderCache; only a miss reads supply_orders, then the archive.
+    // The archiver moves an order in one transaction, so a miss in supply_orders
+    // followed by a read of the archive cannot skip it.
     public OrderResponse getOrderById(Long id) {
-        log.debug("Fetching order id={}", id);
-        return toResponse(findOrderOrThrow(id));
+        return orderCache.get(id, key -> {
+            log.debug("Fetching order id={}", key);
+            return orderRepository.findResponseById(key)
+                    .or(() -> archivedOrderRepository.findResponseById(key))
+                    .orElseThrow(() -> new OrderNotFoundException(key));
+        });
     }
 
     // ── Update the status of an order ──────────────────────────────────────
+    // One conditional UPDATE: it only matches while the order is still in one of the
+    // target's allowed predecessor statuses, so invalid jumps and lost races both
+    // come back empty. Only then is the current status read, to tell 404 from 409
+    // (an archived order is terminal, so it is a 409).
+    @Transactional
     public OrderResponse updateOrderStatus(Long id, String newStatus) {
-        String upperStatus = newStatus.toUpperCase();
-        if (!VALID_STATUSES.contains(upperStatus)) {
+        OrderStatus target = OrderStatus.parse(newStatus);
+
+        List<StatusChange> changes = target.predecessors().isEmpty()
+                ? List.of()
+                : orderRepository.transitionStatus(List.of(id), target.predecessors(), target);
+        if (changes.isEmpty()) {
+            OrderStatus current = orderRepository.findStatusById(id)
+                    .or(() -> archivedOrderRepository.findStatusById(id))
+                    .orElseThrow(() -> new OrderNotFoundException(id));
+            throw new InvalidStatusTransitionException(id, current, target);
+        }
+
+        StatusChange change = changes.get(0);
+        SupplyOrder order = change.order();
+        log.info("Order id={} status changed: {} → {}", id, change.previousStatus(), target);
+        publishStatusEvent(order);
+        statusCounts.recordTransitions(List.of(change.previousStatus()), target);
+        orderCache.invalidateAfterCommit(List.of(id));
+        return toResponse(order);
+    }
+
+    // ── Update the status of many orders at once ──────────────────────────
+    // Same conditional UPDATE as above, applied to the whole id set in chunks of
+    // STATUS_UPDATE_CHUNK_SIZE inside one transaction. Ids that do not move are
+    // reported back instead of failing the request.
+    @Transactional
+    public OrderBulkStatusResponse updateOrderStatuses(List<Long> ids, String newStatus) {
+        OrderStatus target = OrderStatus.parse(newStatus);
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one order id is required");
+        }
+        if (ids.size() > MAX_BULK_STATUS_SIZE) {
             throw new IllegalArgumentException(
-                "Invalid status '" + newStatus + "'. Allowed: " + VALID_STATUSES);
+                "Bulk update of " + ids.size() + " orders exceeds the limit of " + MAX_BULK_STATUS_SIZE);
         }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Order ids must not be null");
+        }
+        List<Long> unique = List.copyOf(new LinkedHashSet<>(ids));
+        log.info("Bulk status update: {} orders → {}", unique.size(), target);
 
-        SupplyOrder order = findOrderOrThrow(id);
-        String oldStatus = order.getStatus();
-        order.setStatus(upperStatus);
-        SupplyOrder updated = orderRepository.save(order);
+        List<StatusChange> moved = new ArrayList<>(unique.size());
+        if (!target.predecessors().isEmpty()) {
+            for (int from = 0; from < unique.size(); from += STATUS_UPDATE_CHUNK_SIZE) {
+                List<Long> chunk = unique.subList(from, Math.min(from + STATUS_UPDATE_CHUNK_SIZE, unique.size()));
+                moved.addAll(orderRepository.transitionStatus(chunk, target.predecessors(), target));
+            }
+        }
 
-        log.info("Order id={} status changed: {} → {}", id, oldStatus, upperStatus);
-        publishStatusEvent(updated);
-        return toResponse(updated);
+        Set<Long> movedIds = moved.stream().map(c -> c.order().getId()).collect(Collectors.toSet());
+        List<Long> movedInOrder = new ArrayList<>(movedIds.size());
+        List<Long> rejected = new ArrayList<>();
+        for (Long id : unique) {
+            (movedIds.contains(id) ? movedInOrder : rejected).add(id);
+        }
+        log.info("Bulk status update → {}: {} moved, {} rejected", target, movedInOrder.size(), rejected.size());
+
+        recordMoved(moved, target);
+        return new OrderBulkStatusResponse(target.name(), movedInOrder, rejected);
     }
 
-    // ── Kafka publish with Resilience4j @Retry ─────────────────────────────
-    // Retried up to 3 times (500 ms wait) if Kafka is temporarily unavailable.
-    @Retry(name = "kafkaPublish", fallbackMethod = "publishFallback")
-    public void publishOrderEvent(SupplyOrder order) {
-        String message = String.format("ORDER_PLACED id=%d item='%s' qty=%d",
-                order.getId(), order.getItemName(), order.getQuantity());
-        log.info("Publishing to Kafka [{}]: {}", ORDERS_TOPIC, message);
-        kafkaTemplate.send(ORDERS_TOPIC, message);
+    // ── Move many orders from one status to the next ──────────────────────
+    // One set-based UPDATE for the whole set; orders no longer in fromStatus are
+    // left alone. Returns the ids that actually moved, each with its status event.
+    @Transactional
+    public List<Long> transitionOrders(Collection<Long> ids, OrderStatus fromStatus, OrderStatus toStatus) {
+        if (!fromStatus.canTransitionTo(toStatus)) {
+            throw new IllegalArgumentException("Transition " + fromStatus + " → " + toStatus + " is not allowed");
+        }
+        List<StatusChange> moved = orderRepository.transitionStatus(ids, List.of(fromStatus), toStatus);
+        log.info("Moved {}/{} orders {} → {}", moved.size(), ids.size(), fromStatus, toStatus);
+
+        recordMoved(moved, toStatus);
+        return moved.stream().map(c -> c.order().getId()).toList();
+    }
+
+    // ── Orders stuck in a status ───────────────────────────────────────────
+    // Oldest first; WarehousePipeline re-queues them after a crash or failed flush
+    public List<Long> findStalledOrderIds(OrderStatus status, LocalDateTime updatedBefore, int limit) {
+        return orderRepository.findIdsByStatusUpdatedBefore(status, updatedBefore, Limit.of(limit));
     }
 
-    @Retry(name = "kafkaPublish", fallbackMethod = "publishFallback")
-    public void publishStatusEvent(SupplyOrder order) {
-        String message = String.format("ORDER_STATUS_UPDATE id=%d status=%s", order.getId(), order.getStatus());
-        log.info("Publishing to Kafka [{}]: {}", ORDERS_TOPIC, message);
-        kafkaTemplate.send(ORDERS_TOPIC, message);
+    // ── Event publishing via the transactional outbox ──────────────────────
+    // These run inside the caller's transaction: the event row commits or rolls
+    // back together with the order change. OutboxRelay delivers it to Kafka.
+    private void publishOrderEvent(SupplyOrder order) {
+        OrderEvent event = orderPlacedEvent(order);
+        log.debug("Queueing event in outbox: {}", event);
+        outboxRepository.save(OutboxEvent.of(event));
     }
 
-    // ── Fallback: all Kafka retries exhausted ─────────────────────────────
-    public void publishFallback(SupplyOrder order, Exception ex) {
-        log.error("Kafka publish FAILED after all retries — order id={}, error: {}", order.getId(), ex.getMessage());
-        // Production: write to dead-letter table, trigger PagerDuty alert, etc.
+    private void publishOrderEvents(List<SupplyOrder> orders) {
+        log.debug("Queueing {} ORDER_PLACED events in outbox", orders.size());
+        outboxRepository.saveAll(orders.stream()
+                .map(order -> OutboxEvent.of(orderPlacedEvent(order)))
+                .toList());
+    }
+
+    private void publishStatusEvent(SupplyOrder order) {
+        OrderEvent event = OrderEvent.statusUpdate(order.getId(), order.getStatus().name(), System.currentTimeMillis());
+        log.debug("Queueing event in outbox: {}", event);
+        outboxRepository.save(OutboxEvent.of(event));
+    }
+
+    // Status events, dashboard counts and cache invalidation for a set of applied transitions
+    private void recordMoved(List<StatusChange> changes, OrderStatus target) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        log.debug("Queueing {} ORDER_STATUS_UPDATE events in outbox", changes.size());
+        long now = System.currentTimeMillis();
+        outboxRepository.saveAll(changes.stream()
+                .map(c -> OutboxEvent.of(OrderEvent.statusUpdate(c.order().getId(), target.name(), now)))
+                .toList());
+        statusCounts.recordTransitions(changes.stream().map(StatusChange::previousStatus).toList(), target);
+        orderCache.invalidateAfterCommit(changes.stream().map(c -> c.order().getId()).toList());
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────
-    private SupplyOrder findOrderOrThrow(Long id) {
-        return orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException(id));
+    private static OrderEvent orderPlacedEvent(SupplyOrder order) {
+        return OrderEvent.placed(order.getId(), order.getItemName(), order.getQuantity(),
+                order.getStatus().name(), System.currentTimeMillis());
+    }
+
+    private String validationError(OrderRequest request) {
+        if (request == null) {
+            return "Order must not be null";
+        }
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(" | "));
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Invalid limit " + limit + ". Must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static MatchMode matchMode(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return MatchMode.PREFIX;
+        }
+        try {
+            return MatchMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid search mode '" + mode + "'. Allowed: prefix, fuzzy");
+        }
+    }
+
+    // A bare date means the start of that day
+    private static LocalDateTime searchDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String trimmed = value.trim();
+            return trimmed.contains("T") ? LocalDateTime.parse(trimmed) : LocalDate.parse(trimmed).atStartOfDay();
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid " + name + " '" + value
+                    + "'. Expected an ISO date (2025-03-01) or date-time (2025-03-01T08:00:00)");
+        }
+    }
+
+    // Rows are fetched with one extra element: if it is present there is a next page,
+    // and the cursor points at the last row actually returned.
+    private OrderPage toPage(List<OrderResponse> rows, int size) {
+        return toPage(rows, size, last -> new OrderCursor(last.getCreatedAt(), last.getId()));
+    }
+
+    private OrderPage toPage(List<OrderResponse> rows, int size, Function<OrderResponse, OrderCursor> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<OrderResponse> pageRows = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            nextCursor = cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode();
+        }
+        return new OrderPage(pageRows, nextCursor);
     }
 
-    private OrderResponse toResponse(SupplyOrder order) {
+    // Shared with OrderExportService so both paths emit identical JSON
+    static OrderResponse toResponse(SupplyOrder order) {
         return new OrderResponse(
                 order.getId(),
                 order.getItemName(),
                 order.getQuantity(),
-                order.getStatus(),
+                order.getStatus().name(),
                 order.getCreatedAt(),
                 order.getUpdatedAt()
         );
@@ -0,0 +1,184 @@
+package com.sysco.supplyservice.service;
+
+import com.sysco.supplyservice.dto.OrderStatusSummary;
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.repository.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory order counts per status, for dashboards.
+ *
+ * OrderService reports every create and transition here; the change is applied once
+ * its transaction commits, so reads are O(1) and never touch supply_orders. A
+ * scheduled reconcile replaces the counts with one GROUP BY over the table, which
+ * corrects drift from other writers (other instances, manual SQL). Changes applied
+ * while the reconcile query runs are replayed on top of its result.
+ *
+ * The counts are approximate between reconciles:
+ * - with several instances, each one only sees its own writes;
+ * - a change that commits after the reconcile opens its journal but before the query
+ *   takes its snapshot is counted twice, until the next reconcile.
+ * They cover supply_orders only: orders moved to the archive by OrderArchiver leave
+ * their status count.
+ *
+ * Exposed as the gauge orders.status.count{status=...} and via GET /api/orders/summary.
+ *
+ * The journal is guarded by a ReentrantLock rather than a monitor: apply() runs on
+ * request threads after every commit, and a virtual thread contending for a monitor
+ * pins its carrier on Java 21.
+ */
+@Component
+public class OrderStatusCounts {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusCounts.class);
+
+    private final OrderRepository orderRepository;
+    private final Map<OrderStatus, AtomicLong> counts = new EnumMap<>(OrderStatus.class);
+
+    // Non-null while a reconcile query is in flight; guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<OrderStatus, Long> journal;
+    private volatile LocalDateTime reconciledAt;
+
+    public OrderStatusCounts(OrderRepository orderRepository, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        for (OrderStatus status : OrderStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            counts.put(status, count);
+            Gauge.builder("orders.status.count", count, AtomicLong::get)
+                    .description("Orders per status (incremental, periodically reconciled)")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    // ── Incremental updates (applied after commit) ─────────────────────────
+    public void recordCreated(int count) {
+        Map<OrderStatus, Long> created = new EnumMap<>(OrderStatus.class);
+        created.put(OrderStatus.PENDING, (long) count);
+        afterCommit(created);
+    }
+
+    // previousStatuses holds the status each moved order left
+    public void recordTransitions(Collection<OrderStatus> previousStatuses, OrderStatus target) {
+        if (previousStatuses.isEmpty()) {
+            return;
+        }
+        Map<OrderStatus, Long> moved = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus previous : previousStatuses) {
+            moved.merge(previous, -1L, Long::sum);
+        }
+        moved.merge(target, (long) previousStatuses.size(), Long::sum);
+        afterCommit(moved);
+    }
+
+    // Orders moved out of supply_orders, by the status each one had
+    public void recordArchived(Collection<OrderStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return;
+        }
+        Map<OrderStatus, Long> archived = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : statuses) {
+            archived.merge(status, -1L, Long::sum);
+        }
+        afterCommit(archived);
+    }
+
+    // ── Reads ─────────────────────────────────────────────────────────────
+    public OrderStatusSummary summary() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<OrderStatus, AtomicLong> entry : counts.entrySet()) {
+            long value = entry.getValue().get();
+            byStatus.put(entry.getKey().name(), value);
+            total += value;
+        }
+        return new OrderStatusSummary(byStatus, total, reconciledAt);
+    }
+
+    // ── Reconciliation ────────────────────────────────────────────────────
+    // Runs at startup (initial delay 0) and then on a fixed delay.
+    @Scheduled(fixedDelayString = "${app.orders.status-counts.reconcile-interval:5m}")
+    public void reconcile() {
+        lock.lock();
+        try {
+            journal = new EnumMap<>(OrderStatus.class);
+        } finally {
+            lock.unlock();
+        }
+        Map<OrderStatus, Long> fromDb = new EnumMap<>(OrderStatus.class);
+        try {
+            for (OrderRepository.StatusCount row : orderRepository.countGroupedByStatus()) {
+                fromDb.put(row.getStatus(), row.getCount());
+            }
+        } catch (RuntimeException ex) {
+            lock.lock();
+            try {
+                journal = null;
+            } finally {
+                lock.unlock();
+            }
+            log.warn("Order status count reconcile failed, keeping incremental counts: {}", ex.getMessage());
+            return;
+        }
+
+        lock.lock();
+        try {
+            for (OrderStatus status : OrderStatus.values()) {
+                long value = fromDb.getOrDefault(status, 0L) + journal.getOrDefault(status, 0L);
+                long drift = value - counts.get(status).getAndSet(value);
+                if (drift != 0) {
+                    log.debug("Reconciled {} count by {}", status, drift);
+                }
+            }
+            journal = null;
+        } finally {
+            lock.unlock();
+        }
+        reconciledAt = LocalDateTime.now();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────
+    private void apply(Map<OrderStatus, Long> deltas) {
+        lock.lock();
+        try {
+            deltas.forEach((status, n) -> {
+                counts.get(status).addAndGet(n);
+                if (journal != null) {
+                    journal.merge(status, n, Long::sum);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Outside a transaction (e.g. unit tests) the change applies immediately
+    private void afterCommit(Map<OrderStatus, Long> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(deltas);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(deltas);
+            }
+        });
+    }
+}
@@ -0,0 +1,32 @@
+-- Baseline: the schema Hibernate (ddl-auto: update) created before migrations were
+-- introduced. IF NOT EXISTS keeps this a no-op on databases that already have it
+-- (spring.flyway.baseline-on-migrate with baseline-version 0).
+
+CREATE SEQUENCE IF NOT EXISTS supply_orders_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS supply_orders (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    item_name   VARCHAR(255) NOT NULL,
+    quantity    INTEGER      NOT NULL,
+    status      VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE SEQUENCE IF NOT EXISTS order_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    order_id    BIGINT       NOT NULL,
+    event_type  VARCHAR(255) NOT NULL,
+    payload     BYTEA        NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    sent_at     TIMESTAMP(6)
+);
+
+-- Rows inserted while ids came from an IDENTITY column may sit above the sequence;
+-- never move it backwards
+SELECT setval('supply_orders_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM supply_orders),
+    (SELECT last_value FROM supply_orders_seq),
+    1));
@@ -0,0 +1,25 @@
+-- Indexes for the repository query paths. CONCURRENTLY avoids locking writes on a
+-- populated table; Flyway runs these statements outside a transaction.
+
+-- findByStatus / countByStatus / keyset pages filtered by status:
+--   WHERE status = ? [AND (created_at, id) > (?, ?)] ORDER BY created_at, id
+-- status is the leading column, so this also serves plain status lookups and
+-- status counts as index-only scans; a separate single-column index would be redundant.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_supply_orders_status_created_at_id
+    ON supply_orders (status, created_at, id);
+
+-- Unfiltered keyset pages and the NDJSON export: ORDER BY created_at, id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_supply_orders_created_at_id
+    ON supply_orders (created_at, id);
+
+-- Time-range scans over large spans (reporting, archiving). Rows are appended in
+-- created_at order, so a block-range index is a few pages instead of a full B-tree.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS brin_supply_orders_created_at
+    ON supply_orders USING BRIN (created_at);
+
+-- OutboxRelay: oldest unsent events, and purge of sent ones
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_outbox_unsent
+    ON order_outbox (id) WHERE sent_at IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_outbox_sent_at
+    ON order_outbox (sent_at) WHERE sent_at IS NOT NULL;
@@ -0,0 +1,15 @@
+-- supply_orders.status: varchar status name → SMALLINT code (OrderStatus.code()).
+-- Rewrites the table once and rebuilds its indexes, including
+-- idx_supply_orders_status_created_at_id, with the two-byte key. A row whose
+-- status is not one of the known names maps to NULL and fails the migration
+-- (NOT NULL) rather than being silently rewritten.
+
+ALTER TABLE supply_orders
+    ALTER COLUMN status TYPE SMALLINT USING
+        CASE status
+            WHEN 'PENDING'    THEN 0
+            WHEN 'PROCESSING' THEN 1
+            WHEN 'SHIPPED'    THEN 2
+            WHEN 'CANCELLED'  THEN 3
+        END,
+    ADD CONSTRAINT chk_supply_orders_status CHECK (status BETWEEN 0 AND 3);
@@ -0,0 +1,25 @@
+-- Dead-letter store for outbox events the relay could not publish (OutboxRelay,
+-- DeadLetterReplayer). Rows keep their order_outbox id so replay preserves order.
+
+-- Constant default: no table rewrite on PostgreSQL 11+
+ALTER TABLE order_outbox ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS order_outbox_dead_letter (
+    id              BIGINT        NOT NULL PRIMARY KEY,
+    order_id        BIGINT        NOT NULL,
+    event_type      VARCHAR(255)  NOT NULL,
+    payload         BYTEA         NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    failed_at       TIMESTAMP(6)  NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(1024)
+);
+
+-- Relay anti-join (events of an order with a dead letter wait) and earliest-per-order check
+CREATE INDEX IF NOT EXISTS idx_order_outbox_dead_letter_order_id
+    ON order_outbox_dead_letter (order_id, id);
+
+-- Due dead letters for the replay worker
+CREATE INDEX IF NOT EXISTS idx_order_outbox_dead_letter_next_attempt
+    ON order_outbox_dead_letter (next_attempt_at);
@@ -0,0 +1,110 @@
+-- supply_orders becomes a table partitioned by month of created_at, and SHIPPED and
+-- CANCELLED orders older than app.orders.archive.min-age move to supply_orders_archive
+-- (OrderArchiver). Table, index and vacuum work then follow the active orders: once
+-- every order of a month is archived its partition is empty and is dropped whole.
+--
+-- Existing rows are copied into the new table here, so the migration holds an
+-- exclusive lock on supply_orders for the length of the copy.
+
+-- ── Archive ───────────────────────────────────────────────────────────────
+-- Looked up by id only (GET /api/orders/{id} falls back to it)
+CREATE TABLE IF NOT EXISTS supply_orders_archive (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    item_name   VARCHAR(255) NOT NULL,
+    quantity    INTEGER      NOT NULL,
+    status      SMALLINT     NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL
+);
+
+-- ── Partitioned supply_orders ─────────────────────────────────────────────
+ALTER TABLE supply_orders RENAME TO supply_orders_unpartitioned;
+ALTER INDEX supply_orders_pkey RENAME TO supply_orders_unpartitioned_pkey;
+
+-- The primary key has to include the partition key, so from here on the database no longer
+-- rejects a duplicate id: two rows with the same id and different created_at are both
+-- accepted. Ids stay unique only because every insert takes them from supply_orders_seq.
+-- A lookup by id alone cannot prune and probes the primary key of every partition.
+CREATE TABLE supply_orders (
+    id          BIGINT       NOT NULL,
+    item_name   VARCHAR(255) NOT NULL,
+    quantity    INTEGER      NOT NULL,
+    status      SMALLINT     NOT NULL CONSTRAINT chk_supply_orders_status CHECK (status BETWEEN 0 AND 3),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT supply_orders_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Takes rows no monthly partition covers, so an insert never fails. OrderArchiver
+-- creates partitions months ahead, so it normally stays empty.
+CREATE TABLE supply_orders_default PARTITION OF supply_orders DEFAULT;
+
+-- Monthly partitions supply_orders_YYYY_MM for every month from first_month through
+-- last_month that does not have one yet; returns the names it created
+CREATE OR REPLACE FUNCTION supply_orders_create_partitions(first_month TIMESTAMP, last_month TIMESTAMP)
+    RETURNS SETOF TEXT
+    LANGUAGE plpgsql AS $$
+DECLARE
+    part_start TIMESTAMP := date_trunc('month', first_month);
+    part_name  TEXT;
+BEGIN
+    WHILE part_start <= last_month LOOP
+        part_name := 'supply_orders_' || to_char(part_start, 'YYYY_MM');
+        IF to_regclass(part_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF supply_orders FOR VALUES FROM (%L) TO (%L)',
+                           part_name, part_start, part_start + INTERVAL '1 month');
+            RETURN NEXT part_name;
+        END IF;
+        part_start := part_start + INTERVAL '1 month';
+    END LOOP;
+END;
+$$;
+
+-- Drops the monthly partitions that ended before older_than and no longer hold any
+-- rows (all their orders were archived); returns the names it dropped. Dropping a
+-- partition briefly locks supply_orders: lock_timeout makes it give up until the next
+-- run rather than wait behind a long query and stall every request queued behind it.
+CREATE OR REPLACE FUNCTION supply_orders_drop_empty_partitions(older_than TIMESTAMP)
+    RETURNS SETOF TEXT
+    LANGUAGE plpgsql AS $$
+DECLARE
+    part_name TEXT;
+    has_rows  BOOLEAN;
+BEGIN
+    PERFORM set_config('lock_timeout', '2s', true);
+    FOR part_name IN
+        SELECT c.relname
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'supply_orders'::regclass
+          AND c.relname ~ '^supply_orders_[0-9]{4}_[0-9]{2}$'
+        ORDER BY c.relname
+    LOOP
+        CONTINUE WHEN to_date(right(part_name, 7), 'YYYY_MM') + INTERVAL '1 month' > older_than;
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', part_name) INTO has_rows;
+        CONTINUE WHEN has_rows;
+        EXECUTE format('DROP TABLE %I', part_name);
+        RETURN NEXT part_name;
+    END LOOP;
+END;
+$$;
+
+-- Partitions for the existing rows and the next three months, then the copy.
+-- created_at was nullable before; such rows take their updated_at (or now).
+SELECT supply_orders_create_partitions(
+    COALESCE((SELECT MIN(COALESCE(created_at, updated_at)) FROM supply_orders_unpartitioned), localtimestamp),
+    localtimestamp + INTERVAL '3 months');
+
+INSERT INTO supply_orders (id, item_name, quantity, status, created_at, updated_at)
+SELECT id, item_name, quantity, status, COALESCE(created_at, updated_at, localtimestamp), updated_at
+FROM supply_orders_unpartitioned;
+
+DROP TABLE supply_orders_unpartitioned;
+
+-- The V2 indexes, rebuilt per partition after the copy. Range scans on created_at
+-- now prune to the partitions they cover as well.
+CREATE INDEX idx_supply_orders_status_created_at_id ON supply_orders (status, created_at, id);
+CREATE INDEX idx_supply_orders_created_at_id ON supply_orders (created_at, id);
+CREATE INDEX brin_supply_orders_created_at ON supply_orders USING BRIN (created_at);
+
+ANALYZE supply_orders;
@@ -0,0 +1,17 @@
+-- Item-name search (GET /api/orders/search, OrderSearch). A trigram GIN index on
+-- lower(item_name) serves both match modes from one index:
+--   prefix  lower(item_name) LIKE 'bolt%'   (also with a bound pattern, unlike a
+--                                            text_pattern_ops btree)
+--   fuzzy   lower(item_name) %> 'blot'      (pg_trgm word similarity)
+--
+-- pg_trgm is a trusted extension (PostgreSQL 13+), so the database owner can create it.
+-- The index is built per partition, and partitions created later get it as well.
+-- CONCURRENTLY is not available on a partitioned table, so the build blocks writes
+-- to supply_orders while it runs.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_supply_orders_item_name_trgm
+    ON supply_orders USING GIN (lower(item_name) gin_trgm_ops);
+
+ANALYZE supply_orders;
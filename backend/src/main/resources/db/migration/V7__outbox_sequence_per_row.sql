@@ -0,0 +1,4 @@
+-- OutboxEvent ids are no longer drawn in pooled blocks of 50 (allocationSize = 1).
+-- OutboxRelay sends in id order, and with one block per instance a later event of an
+-- order could get a lower id than an earlier one written by another instance.
+ALTER SEQUENCE order_outbox_seq INCREMENT BY 1;
@@ -0,0 +1,59 @@
+-- Partition upkeep, revisited (V5).
+--
+-- A row whose month had no partition yet lands in supply_orders_default, and from
+-- then on CREATE TABLE ... PARTITION OF for that month fails: the default partition
+-- would hold a row the new partition's bounds claim. supply_orders_create_partitions
+-- now moves such rows into the new partition, and also creates the partitions of
+-- earlier months that have rows in the default partition, so one call empties it
+-- of everything up to last_month.
+--
+-- The primary key is (id, created_at), so the database does not enforce a unique
+-- id by itself: supply_orders_seq is what keeps ids unique, and rows must not be
+-- inserted with ids of their own. A lookup by id alone cannot prune and probes the
+-- primary key index of every partition, one per month still holding orders.
+
+CREATE OR REPLACE FUNCTION supply_orders_create_partitions(first_month TIMESTAMP, last_month TIMESTAMP)
+    RETURNS SETOF TEXT
+    LANGUAGE plpgsql AS $$
+DECLARE
+    part_start TIMESTAMP;
+    part_end   TIMESTAMP;
+    part_name  TEXT;
+BEGIN
+    -- Blocks inserts into the default partition until the transaction ends, so no row
+    -- can land there between moving a month's rows out and attaching its partition
+    LOCK TABLE supply_orders_default IN SHARE ROW EXCLUSIVE MODE;
+    FOR part_start IN
+        SELECT generate_series(date_trunc('month', first_month), last_month, INTERVAL '1 month')
+        UNION
+        SELECT DISTINCT date_trunc('month', created_at) FROM supply_orders_default WHERE created_at < first_month
+        ORDER BY 1
+    LOOP
+        part_name := 'supply_orders_' || to_char(part_start, 'YYYY_MM');
+        part_end := part_start + INTERVAL '1 month';
+        IF to_regclass(part_name) IS NULL THEN
+            IF EXISTS (SELECT 1 FROM supply_orders_default
+                       WHERE created_at >= part_start AND created_at < part_end) THEN
+                -- Built on its own, filled from the default partition, then attached;
+                -- attaching creates the partitioned indexes on it
+                EXECUTE format('CREATE TABLE %I (LIKE supply_orders INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                               part_name);
+                EXECUTE format('WITH moved AS (DELETE FROM supply_orders_default '
+                               'WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                               'INSERT INTO %I SELECT * FROM moved',
+                               part_start, part_end, part_name);
+                EXECUTE format('ALTER TABLE supply_orders ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               part_name, part_start, part_end);
+            ELSE
+                EXECUTE format('CREATE TABLE %I PARTITION OF supply_orders FOR VALUES FROM (%L) TO (%L)',
+                               part_name, part_start, part_end);
+            END IF;
+            RETURN NEXT part_name;
+        END IF;
+    END LOOP;
+END;
+$$;
+
+-- Twelve months ahead (app.orders.archive.partitions-ahead), and whatever the default
+-- partition holds today
+SELECT supply_orders_create_partitions(localtimestamp, localtimestamp + INTERVAL '12 months');
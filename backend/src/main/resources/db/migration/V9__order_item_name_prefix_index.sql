@@ -0,0 +1,22 @@
+-- Prefix search (GET /api/orders/search, OrderSearch), revisited (V6).
+--
+-- The trigram index finds prefix matches but returns them unordered: a short prefix
+-- such as 'hex' matched every order with that word, and all of them were fetched and
+-- sorted before the first page came back. Prefix search now pages in the order of
+-- this B-tree instead:
+--   WHERE lower(item_name) COLLATE "C" LIKE 'hex%' [AND status = ?]
+--     [AND (lower(item_name) COLLATE "C", status, created_at, id) > (?, ?, ?, ?)]
+--   ORDER BY lower(item_name) COLLATE "C", status, created_at, id
+-- so a page reads about as many index entries as it returns. The "C" collation
+-- lets LIKE 'text%' use the index whatever the database collation is. status is a
+-- key column so a status filter is checked in the index, not on every matching row;
+-- with status fixed the order is still item name, then created_at.
+--
+-- Fuzzy search still uses the trigram index. The index is built per partition, and
+-- partitions created later get it as well. CONCURRENTLY is not available on a
+-- partitioned table, so the build blocks writes to supply_orders while it runs.
+
+CREATE INDEX IF NOT EXISTS idx_supply_orders_item_name_prefix
+    ON supply_orders ((lower(item_name) COLLATE "C"), status, created_at, id);
+
+ANALYZE supply_orders;
@@ -0,0 +1,127 @@
+package com.sysco.supplyservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between two in-memory H2 databases, each with a one-row table naming itself —
+ * no Spring context; transactions come from a DataSourceTransactionManager.
+ */
+class ReadReplicaDataSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReadReplicaDataSource readReplica;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @AfterEach
+    void tearDown() {
+        readReplica.close();
+    }
+
+    @Test
+    void readOnlyTransactions_goToTheReplica_andEverythingElseToThePrimary() {
+        start("SELECT 0");
+        readReplica.checkLag();
+
+        assertThat(readOnlyRoute()).isEqualTo("replica");
+        assertThat(readWriteRoute()).isEqualTo("primary");
+        assertThat(whoAmI()).isEqualTo("primary");
+        assertThat(registry.get("datasource.reads").tag("route", "replica").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("datasource.replica.usable").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void readOnlyTransactions_stayOnThePrimaryUntilTheFirstLagCheck() {
+        start("SELECT 0");
+
+        assertThat(readOnlyRoute()).isEqualTo("primary");
+        assertThat(registry.get("datasource.reads").tag("route", "primary").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void laggingReplica_fallsBackToThePrimary_untilItCatchesUp() {
+        start("SELECT lag FROM replica_lag");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (lag DOUBLE)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (30)");
+
+        readReplica.checkLag();
+
+        assertThat(readOnlyRoute()).isEqualTo("primary");
+        assertThat(registry.get("datasource.replica.lag").gauge().value()).isEqualTo(30.0);
+        assertThat(registry.get("datasource.replica.usable").gauge().value()).isZero();
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET lag = 1");
+        readReplica.checkLag();
+
+        assertThat(readOnlyRoute()).isEqualTo("replica");
+    }
+
+    @Test
+    void unreachableReplica_fallsBackToThePrimary() {
+        start("SELECT 0");
+        readReplica.checkLag();
+        replica.close();
+
+        assertThat(readOnlyRoute()).isEqualTo("primary");
+        assertThat(readReplica.replicaUsable()).isFalse();
+
+        readReplica.checkLag();
+
+        assertThat(readReplica.replicaUsable()).isFalse();
+        assertThat(registry.get("datasource.replica.lag").gauge().value()).isNaN();
+    }
+
+    private void start(String lagQuery) {
+        primary = database("primary");
+        replica = database("replica");
+        readReplica = new ReadReplicaDataSource(primary, replica, lagQuery, Duration.ofSeconds(5), registry);
+
+        DataSource routing = readReplica.routingDataSource();
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    // Typed helpers: assertThat(readOnly.execute(...)) is ambiguous between AssertJ's
+    // Predicate and IntPredicate overloads
+    private String readOnlyRoute() {
+        return readOnly.execute(tx -> whoAmI());
+    }
+
+    private String readWriteRoute() {
+        return readWrite.execute(tx -> whoAmI());
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPoolName(name);
+        dataSource.setConnectionTimeout(250);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,120 @@
+package com.sysco.supplyservice.consumer;
+
+import com.sysco.supplyservice.event.OrderEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the batch warehouse consumer — no Kafka, records are built by hand.
+ */
+class OrderConsumerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Queue<OrderEvent> handled = new ConcurrentLinkedQueue<>();
+    private final Queue<String> threads = new ConcurrentLinkedQueue<>();
+
+    private final OrderConsumer consumer = new OrderConsumer(registry, Optional.empty(), 4, false) {
+        @Override
+        void handle(OrderEvent event) {
+            threads.add(Thread.currentThread().getName());
+            handled.add(event);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        consumer.shutdown();
+    }
+
+    @Test
+    void handleBatch_keepsPerOrderOrderAcrossLanes() {
+        List<ConsumerRecord<String, OrderEvent>> records = new ArrayList<>();
+        long offset = 0;
+        for (int step = 0; step < 3; step++) {
+            String status = List.of("PENDING", "PROCESSING", "SHIPPED").get(step);
+            for (long orderId = 1; orderId <= 20; orderId++) {
+                records.add(record(offset++, OrderEvent.statusUpdate(orderId, status, 0L)));
+            }
+        }
+
+        consumer.handleBatch(records);
+
+        assertThat(handled).hasSize(60);
+        Map<Long, List<String>> statusesByOrder = handled.stream().collect(
+                Collectors.groupingBy(OrderEvent::orderId, Collectors.mapping(OrderEvent::status, Collectors.toList())));
+        assertThat(statusesByOrder.values())
+                .allSatisfy(statuses -> assertThat(statuses).containsExactly("PENDING", "PROCESSING", "SHIPPED"));
+        assertThat(threads).allMatch(name -> name.startsWith("warehouse-lane-"));
+        assertThat(registry.get("warehouse.events.consumed").counter().count()).isEqualTo(60.0);
+    }
+
+    @Test
+    void handleBatch_skipsUnreadableRecords() {
+        consumer.handleBatch(List.of(
+                record(0, null),
+                record(1, OrderEvent.statusUpdate(1L, "SHIPPED", 0L))));
+
+        assertThat(handled).extracting(OrderEvent::orderId).containsExactly(1L);
+    }
+
+    @Test
+    void handleBatch_onVirtualThreads_keepsPerOrderOrder() {
+        Queue<Boolean> virtual = new ConcurrentLinkedQueue<>();
+        OrderConsumer onVirtual = new OrderConsumer(registry, Optional.empty(), 4, true) {
+            @Override
+            void handle(OrderEvent event) {
+                virtual.add(Thread.currentThread().isVirtual());
+                handled.add(event);
+            }
+        };
+        List<ConsumerRecord<String, OrderEvent>> records = new ArrayList<>();
+        for (long orderId = 1; orderId <= 20; orderId++) {
+            records.add(record(2 * orderId, OrderEvent.statusUpdate(orderId, "PROCESSING", 0L)));
+            records.add(record(2 * orderId + 1, OrderEvent.statusUpdate(orderId, "SHIPPED", 0L)));
+        }
+        try {
+            onVirtual.handleBatch(records);
+        } finally {
+            onVirtual.shutdown();
+        }
+
+        assertThat(virtual).hasSize(40).containsOnly(true);
+        Map<Long, List<String>> statusesByOrder = handled.stream().collect(
+                Collectors.groupingBy(OrderEvent::orderId, Collectors.mapping(OrderEvent::status, Collectors.toList())));
+        assertThat(statusesByOrder.values())
+                .allSatisfy(statuses -> assertThat(statuses).containsExactly("PROCESSING", "SHIPPED"));
+    }
+
+    @Test
+    void handleBatch_propagatesLaneFailureSoOffsetsAreNotCommitted() {
+        OrderConsumer failing = new OrderConsumer(registry, Optional.empty(), 2, false) {
+            @Override
+            void handle(OrderEvent event) {
+                throw new IllegalStateException("warehouse down");
+            }
+        };
+        try {
+            assertThatThrownBy(() -> failing.handleBatch(List.of(record(0, OrderEvent.statusUpdate(1L, "SHIPPED", 0L)))))
+                    .hasMessageContaining("warehouse down");
+        } finally {
+            failing.shutdown();
+        }
+    }
+
+    private static ConsumerRecord<String, OrderEvent> record(long offset, OrderEvent event) {
+        String key = event == null ? null : Long.toString(event.orderId());
+        return new ConsumerRecord<>("orders-topic", 0, offset, key, event);
+    }
+}
@@ -0,0 +1,181 @@
+package com.sysco.supplyservice.consumer;
+
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the staged warehouse pipeline — OrderService is mocked, stages run on real threads.
+ */
+class WarehousePipelineTest {
+
+    private static final Duration STALLED_AFTER = Duration.ofMinutes(5);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderService orderService = mock(OrderService.class);
+    private WarehousePipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void accept_movesPlacedOrdersThroughBothStages() {
+        Set<Long> processed = ConcurrentHashMap.newKeySet();
+        Set<Long> shipped = ConcurrentHashMap.newKeySet();
+        when(orderService.transitionOrders(anyCollection(), eq(OrderStatus.PENDING), eq(OrderStatus.PROCESSING)))
+                .thenAnswer(inv -> {
+                    // Order 3 was cancelled meanwhile: it does not move and never reaches shipping
+                    List<Long> moved = new ArrayList<>(inv.<Collection<Long>>getArgument(0));
+                    moved.remove(3L);
+                    processed.addAll(moved);
+                    return moved;
+                });
+        when(orderService.transitionOrders(anyCollection(), eq(OrderStatus.PROCESSING), eq(OrderStatus.SHIPPED)))
+                .thenAnswer(inv -> {
+                    List<Long> moved = List.copyOf(inv.<Collection<Long>>getArgument(0));
+                    shipped.addAll(moved);
+                    return moved;
+                });
+        pipeline = new WarehousePipeline(orderService, registry, 100, 10, 2, 2, STALLED_AFTER, false);
+
+        for (long id = 1; id <= 50; id++) {
+            pipeline.accept(OrderEvent.placed(id, "Bolt", 1, "PENDING", 0L));
+        }
+        pipeline.accept(OrderEvent.statusUpdate(99L, "PROCESSING", 0L)); // not an entry event
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> shipped.size() == 49);
+        assertThat(processed).hasSize(49).doesNotContain(3L, 99L);
+        assertThat(shipped).isEqualTo(processed);
+        assertThat(registry.get("warehouse.pipeline.orders").tags("stage", "processing", "outcome", "skipped")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void accept_groupsQueuedOrdersIntoBoundedBatches() {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(orderService.transitionOrders(anyCollection(), any(), any()))
+                .thenAnswer(inv -> {
+                    Collection<Long> ids = inv.getArgument(0);
+                    synchronized (batchSizes) {
+                        batchSizes.add(ids.size());
+                    }
+                    return List.of();
+                });
+        pipeline = new WarehousePipeline(orderService, registry, 1000, 25, 1, 1, STALLED_AFTER, false);
+
+        for (long id = 1; id <= 200; id++) {
+            pipeline.accept(OrderEvent.placed(id, "Bolt", 1, "PENDING", 0L));
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> {
+            synchronized (batchSizes) {
+                return batchSizes.stream().mapToInt(Integer::intValue).sum() == 200;
+            }
+        });
+        assertThat(batchSizes).allMatch(size -> size <= 25);
+    }
+
+    @Test
+    void accept_blocksWhenStageQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.transitionOrders(anyCollection(), any(), any()))
+                .thenAnswer(inv -> {
+                    release.await();
+                    return List.of();
+                });
+        pipeline = new WarehousePipeline(orderService, registry, 2, 1, 1, 1, STALLED_AFTER, false);
+
+        // One order is held by the busy worker, two fill the queue, the next must wait
+        Thread producer = Thread.ofPlatform().start(() -> {
+            for (long id = 1; id <= 4; id++) {
+                pipeline.accept(OrderEvent.placed(id, "Bolt", 1, "PENDING", 0L));
+            }
+        });
+
+        producer.join(300);
+        assertThat(producer.isAlive()).isTrue();
+
+        release.countDown();
+        producer.join(5000);
+        assertThat(producer.isAlive()).isFalse();
+    }
+
+    @Test
+    void stageFailure_isCountedAndDoesNotStopTheWorker() {
+        when(orderService.transitionOrders(anyCollection(), eq(OrderStatus.PENDING), eq(OrderStatus.PROCESSING)))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of());
+        pipeline = new WarehousePipeline(orderService, registry, 10, 1, 1, 1, STALLED_AFTER, false);
+
+        pipeline.accept(OrderEvent.placed(1L, "Bolt", 1, "PENDING", 0L));
+        pipeline.accept(OrderEvent.placed(2L, "Bolt", 1, "PENDING", 0L));
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                verify(orderService, times(2)).transitionOrders(anyCollection(), eq(OrderStatus.PENDING), eq(OrderStatus.PROCESSING)));
+        assertThat(registry.get("warehouse.pipeline.orders").tags("stage", "processing", "outcome", "failed")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void recoverStalled_requeuesOrdersLeftPendingOrProcessing() {
+        Set<Long> shipped = ConcurrentHashMap.newKeySet();
+        when(orderService.findStalledOrderIds(eq(OrderStatus.PENDING), any(), anyInt())).thenReturn(List.of(1L, 2L));
+        when(orderService.findStalledOrderIds(eq(OrderStatus.PROCESSING), any(), anyInt())).thenReturn(List.of(7L));
+        when(orderService.transitionOrders(anyCollection(), eq(OrderStatus.PENDING), eq(OrderStatus.PROCESSING)))
+                .thenAnswer(inv -> List.copyOf(inv.<Collection<Long>>getArgument(0)));
+        when(orderService.transitionOrders(anyCollection(), eq(OrderStatus.PROCESSING), eq(OrderStatus.SHIPPED)))
+                .thenAnswer(inv -> {
+                    List<Long> moved = List.copyOf(inv.<Collection<Long>>getArgument(0));
+                    shipped.addAll(moved);
+                    return moved;
+                });
+        pipeline = new WarehousePipeline(orderService, registry, 100, 10, 1, 1, STALLED_AFTER, false);
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(STALLED_AFTER);
+        pipeline.recoverStalled();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> shipped.containsAll(List.of(1L, 2L, 7L)));
+        // At most half a queue per sweep, only orders untouched for stalled-after
+        verify(orderService).findStalledOrderIds(eq(OrderStatus.PENDING),
+                argThat(t -> !t.isBefore(cutoff) && t.isBefore(cutoff.plusSeconds(5))), eq(50));
+        assertThat(registry.get("warehouse.pipeline.orders").tags("stage", "processing", "outcome", "requeued")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("warehouse.pipeline.orders").tags("stage", "shipping", "outcome", "requeued")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void recoverStalled_failureIsRetriedOnTheNextRun() {
+        when(orderService.findStalledOrderIds(any(), any(), anyInt()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of());
+        pipeline = new WarehousePipeline(orderService, registry, 10, 1, 1, 1, STALLED_AFTER, false);
+
+        assertThatCode(pipeline::recoverStalled).doesNotThrowAnyException();
+        pipeline.recoverStalled();
+
+        verify(orderService, times(3)).findStalledOrderIds(any(), any(), anyInt());
+    }
+}
@@ -1,11 +1,20 @@
 package com.sysco.supplyservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sysco.supplyservice.dto.OrderBatchItemResult;
+import com.sysco.supplyservice.dto.OrderBatchResponse;
+import com.sysco.supplyservice.dto.OrderBulkStatusResponse;
+import com.sysco.supplyservice.dto.OrderPage;
 import com.sysco.supplyservice.dto.OrderRequest;
 import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.dto.OrderStatusSummary;
 import com.sysco.supplyservice.exception.GlobalExceptionHandler;
+import com.sysco.supplyservice.exception.InvalidStatusTransitionException;
 import com.sysco.supplyservice.exception.OrderNotFoundException;
+import com.sysco.supplyservice.model.OrderStatus;
 import com.sysco.supplyservice.security.JwtService;
+import com.sysco.supplyservice.service.OrderEventBroadcaster;
+import com.sysco.supplyservice.service.OrderExportService;
 import com.sysco.supplyservice.service.OrderService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -15,6 +24,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +32,7 @@ import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -43,6 +54,12 @@ class OrderControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private OrderExportService orderExportService;
+
+    @MockitoBean
+    private OrderEventBroadcaster orderEventBroadcaster;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -88,27 +105,93 @@ class OrderControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // ── POST /api/orders/batch ─────────────────────────────────────────────
+
+    @Test
+    void createOrders_returns201WhenAllCreated() throws Exception {
+        when(orderService.placeOrders(anyList())).thenReturn(
+                new OrderBatchResponse(1, 0, List.of(OrderBatchItemResult.created(0, sample()))));
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"itemName\":\"Widget A\",\"quantity\":10}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].order.id").value(1));
+    }
+
+    @Test
+    void createOrders_returns207WhenSomeRejected() throws Exception {
+        when(orderService.placeOrders(anyList())).thenReturn(new OrderBatchResponse(1, 1, List.of(
+                OrderBatchItemResult.created(0, sample()),
+                OrderBatchItemResult.rejected(1, "itemName: Item name must not be blank"))));
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"itemName\":\"Widget A\",\"quantity\":10},{\"itemName\":\"\",\"quantity\":1}]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[1].result").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].error", containsString("itemName")));
+    }
+
     // ── GET /api/orders ────────────────────────────────────────────────────
 
     @Test
     void getAllOrders_returns200WithList() throws Exception {
-        when(orderService.getAllOrders()).thenReturn(List.of(sample()));
+        when(orderService.getAllOrders(null, null)).thenReturn(new OrderPage(List.of(sample()), null));
 
         mockMvc.perform(get("/api/orders"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].itemName").value("Widget A"));
     }
 
     @Test
     void getOrdersByStatus_returnsFilteredList() throws Exception {
-        when(orderService.getOrdersByStatus("PENDING")).thenReturn(List.of(sample()));
+        when(orderService.getOrdersByStatus("PENDING", null, null)).thenReturn(new OrderPage(List.of(sample()), null));
 
         mockMvc.perform(get("/api/orders").param("status", "PENDING"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].status").value("PENDING"));
     }
 
+    @Test
+    void getAllOrders_passesCursorAndLimitAndReturnsNextCursorHeader() throws Exception {
+        when(orderService.getAllOrders("abc", 1)).thenReturn(new OrderPage(List.of(sample()), "def"));
+
+        mockMvc.perform(get("/api/orders").param("cursor", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    // ── GET /api/orders/search ─────────────────────────────────────────────
+
+    @Test
+    void searchOrders_passesFiltersAndReturnsNextCursorHeader() throws Exception {
+        when(orderService.searchOrders("widg", "fuzzy", "PENDING", "2025-03-01", "2025-03-08", null, 1))
+                .thenReturn(new OrderPage(List.of(sample()), "def"));
+
+        mockMvc.perform(get("/api/orders/search").param("q", "widg").param("mode", "fuzzy")
+                        .param("status", "PENDING").param("from", "2025-03-01").param("to", "2025-03-08")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$[0].itemName").value("Widget A"));
+        verify(orderService, never()).getOrderById(any());
+    }
+
+    @Test
+    void searchOrders_returns400ForInvalidSearch() throws Exception {
+        when(orderService.searchOrders(isNull(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Invalid search text ''"));
+
+        mockMvc.perform(get("/api/orders/search"))
+                .andExpect(status().isBadRequest());
+    }
+
     // ── GET /api/orders/{id} ───────────────────────────────────────────────
 
     @Test
@@ -130,6 +213,44 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.error", containsString("99")));
     }
 
+    // ── GET /api/orders/summary ────────────────────────────────────────────
+
+    @Test
+    void getStatusSummary_returnsCountsPerStatus() throws Exception {
+        when(orderService.getStatusSummary()).thenReturn(
+                new OrderStatusSummary(Map.of("PENDING", 4L, "SHIPPED", 6L), 10, LocalDateTime.now()));
+
+        mockMvc.perform(get("/api/orders/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.PENDING").value(4))
+                .andExpect(jsonPath("$.total").value(10));
+    }
+
+    // ── GET /api/orders/stream ─────────────────────────────────────────────
+
+    @Test
+    void streamOrders_subscribesWithFiltersAndLastEventId() throws Exception {
+        when(orderEventBroadcaster.subscribe(List.of("SHIPPED"), List.of(7L, 8L), "0-41,1-17"))
+                .thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/orders/stream")
+                        .param("status", "SHIPPED")
+                        .param("orderId", "7", "8")
+                        .header("Last-Event-ID", "0-41,1-17"))
+                .andExpect(request().asyncStarted());
+
+        verify(orderEventBroadcaster).subscribe(List.of("SHIPPED"), List.of(7L, 8L), "0-41,1-17");
+    }
+
+    @Test
+    void streamOrders_returns400ForUnknownStatus() throws Exception {
+        when(orderEventBroadcaster.subscribe(eq(List.of("LOST")), any(), any()))
+                .thenThrow(new IllegalArgumentException("Invalid status 'LOST'"));
+
+        mockMvc.perform(get("/api/orders/stream").param("status", "LOST"))
+                .andExpect(status().isBadRequest());
+    }
+
     // ── PATCH /api/orders/{id}/status ──────────────────────────────────────
 
     @Test
@@ -155,4 +276,50 @@ class OrderControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error", containsString("FLYING")));
     }
+
+    @Test
+    void updateStatus_returns409WhenTransitionIsNotAllowed() throws Exception {
+        when(orderService.updateOrderStatus(eq(1L), eq("PENDING")))
+                .thenThrow(new InvalidStatusTransitionException(1L, OrderStatus.SHIPPED, OrderStatus.PENDING));
+
+        mockMvc.perform(patch("/api/orders/1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", "PENDING"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", containsString("SHIPPED")));
+    }
+
+    // ── PATCH /api/orders/status ───────────────────────────────────────────
+
+    @Test
+    void updateStatuses_returns200WhenAllMoved() throws Exception {
+        when(orderService.updateOrderStatuses(List.of(1L, 2L), "SHIPPED"))
+                .thenReturn(new OrderBulkStatusResponse("SHIPPED", List.of(1L, 2L), List.of()));
+
+        mockMvc.perform(patch("/api/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2],\"status\":\"SHIPPED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.moved[1]").value(2));
+    }
+
+    @Test
+    void updateStatuses_returns207WhenSomeRejected() throws Exception {
+        when(orderService.updateOrderStatuses(List.of(1L, 2L), "SHIPPED"))
+                .thenReturn(new OrderBulkStatusResponse("SHIPPED", List.of(1L), List.of(2L)));
+
+        mockMvc.perform(patch("/api/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2],\"status\":\"SHIPPED\"}"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.rejected[0]").value(2));
+    }
+
+    @Test
+    void updateStatuses_returns400WhenIdsMissing() throws Exception {
+        mockMvc.perform(patch("/api/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[],\"status\":\"SHIPPED\"}"))
+                .andExpect(status().isBadRequest());
+    }
 }
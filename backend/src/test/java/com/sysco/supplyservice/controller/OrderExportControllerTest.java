@@ -0,0 +1,86 @@
+package com.sysco.supplyservice.controller;
+
+import com.sysco.supplyservice.service.OrderEventBroadcaster;
+import com.sysco.supplyservice.service.OrderExportService;
+import com.sysco.supplyservice.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * GET /api/orders/export over a real Tomcat: an export has to outlive the async
+ * request timeout every other async request gets.
+ *
+ * spring.mvc.async.request-timeout stands in for Tomcat's 30s default here, so the
+ * test doesn't have to wait that long.
+ */
+@SpringBootTest(
+        classes = OrderController.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.mvc.async.request-timeout=500ms",
+                "app.orders.export.timeout=30s"
+        })
+@ImportAutoConfiguration({
+        ServletWebServerFactoryAutoConfiguration.class,
+        DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class,
+        JacksonAutoConfiguration.class,
+        TaskExecutionAutoConfiguration.class
+})
+class OrderExportControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private OrderService orderService;
+
+    @MockitoBean
+    private OrderExportService orderExportService;
+
+    @MockitoBean
+    private OrderEventBroadcaster orderEventBroadcaster;
+
+    @Test
+    void export_longerThanTheDefaultAsyncTimeout_completes() throws Exception {
+        doAnswer(inv -> {
+            OutputStream out = inv.getArgument(0);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Thread.sleep(1500);   // three times the default timeout
+            out.write("{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            return 2L;
+        }).when(orderExportService).exportAll(any());
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders/export")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("application/x-ndjson"));
+        assertThat(response.body()).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+    }
+}
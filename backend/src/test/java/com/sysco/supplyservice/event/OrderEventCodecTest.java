@@ -0,0 +1,74 @@
+package com.sysco.supplyservice.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Round-trip and robustness tests for the binary order event format.
+ */
+class OrderEventCodecTest {
+
+    @Test
+    void orderPlaced_roundTripsAllFields() {
+        OrderEvent event = OrderEvent.placed(123_456_789L, "Widget Ä", 42, "PENDING", 1_735_725_600_000L);
+
+        assertThat(OrderEventCodec.decode(OrderEventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void statusUpdate_roundTripsWithoutOptionalFields() {
+        OrderEvent event = OrderEvent.statusUpdate(7L, "SHIPPED", 1_735_725_600_000L);
+
+        OrderEvent decoded = OrderEventCodec.decode(OrderEventCodec.encode(event));
+
+        assertThat(decoded).isEqualTo(event);
+        assertThat(decoded.itemName()).isNull();
+        assertThat(decoded.quantity()).isNull();
+    }
+
+    @Test
+    void encode_isSmallerThanTheLegacyTextMessage() {
+        OrderEvent event = OrderEvent.placed(1234L, "Widget A", 10, "PENDING", 1_735_725_600_000L);
+        String legacy = String.format("ORDER_PLACED id=%d item='%s' qty=%d", 1234L, "Widget A", 10);
+
+        assertThat(OrderEventCodec.encode(event).length)
+                .isLessThan(legacy.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void decode_rejectsUnknownVersionAndTruncatedInput() {
+        byte[] encoded = OrderEventCodec.encode(OrderEvent.placed(1L, "Widget A", 1, "PENDING", 1L));
+
+        byte[] wrongVersion = encoded.clone();
+        wrongVersion[0] = 99;
+        assertThatThrownBy(() -> OrderEventCodec.decode(wrongVersion))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+        assertThatThrownBy(() -> OrderEventCodec.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deserializer_wrapsDecodeErrorsAsSerializationException() {
+        byte[] legacyText = "ORDER_PLACED id=1 item='x' qty=1".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> new OrderEventDeserializer().deserialize("orders-topic", legacyText))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void serializerAndDeserializer_roundTrip() {
+        OrderEvent event = OrderEvent.statusUpdate(99L, "CANCELLED", 5L);
+
+        byte[] bytes = new OrderEventSerializer().serialize("orders-topic", event);
+
+        assertThat(new OrderEventDeserializer().deserialize("orders-topic", bytes)).isEqualTo(event);
+    }
+}
@@ -3,24 +3,43 @@ package com.sysco.supplyservice.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sysco.supplyservice.dto.OrderRequest;
 import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.event.OrderEventDeserializer;
+import com.sysco.supplyservice.event.OrderEventType;
+import com.sysco.supplyservice.model.OrderStatus;
 import com.sysco.supplyservice.repository.OrderRepository;
+import com.sysco.supplyservice.repository.OutboxRepository;
+import com.sysco.supplyservice.service.OrderStatusCounts;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
 import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * Full integration tests — loads complete Spring context with H2 + EmbeddedKafka.
- * Tests the real flow end-to-end: HTTP → Service → Repository → Kafka.
+ * Tests the real flow end-to-end: HTTP → Service → Repository → Outbox → Kafka.
  * No real Postgres or Kafka broker needed.
  */
 @SpringBootTest
@@ -38,9 +57,19 @@ class OrderIntegrationTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private OrderStatusCounts statusCounts;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
     @AfterEach
     void cleanUp() {
         orderRepository.deleteAll();
+        outboxRepository.deleteAll();
     }
 
     // ── Core CRUD flow ─────────────────────────────────────────────────────
@@ -73,18 +102,149 @@ class OrderIntegrationTest {
 
         Long id = objectMapper.readValue(
                 result.getResponse().getContentAsString(), OrderResponse.class).getId();
+        mockMvc.perform(get("/api/orders/" + id))
+                .andExpect(jsonPath("$.status").value("PENDING")); // now cached
 
         mockMvc.perform(patch("/api/orders/" + id + "/status")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"status\":\"PROCESSING\"}"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("PROCESSING"));
+        mockMvc.perform(get("/api/orders/" + id))
+                .andExpect(jsonPath("$.status").value("PROCESSING")); // evicted on commit
 
         mockMvc.perform(patch("/api/orders/" + id + "/status")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"status\":\"SHIPPED\"}"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("SHIPPED"));
+
+        // SHIPPED is terminal
+        mockMvc.perform(patch("/api/orders/" + id + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CANCELLED\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    // ── Outbox ─────────────────────────────────────────────────────────────
+
+    @Test
+    void createOrder_eventIsRelayedFromOutboxToKafka() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"Relay R\",\"quantity\":1}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long id = objectMapper.readValue(
+                result.getResponse().getContentAsString(), OrderResponse.class).getId();
+
+        assertThat(outboxRepository.count()).isEqualTo(1);
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(outboxRepository.countBySentAtIsNull()).isZero());
+
+        // The record on the topic is keyed by order id and carries the binary event
+        Map<String, Object> props = KafkaTestUtils.consumerProps("it-verify-" + id, "false", embeddedKafka);
+        try (Consumer<String, OrderEvent> consumer = new DefaultKafkaConsumerFactory<>(
+                props, new StringDeserializer(), new OrderEventDeserializer()).createConsumer()) {
+            embeddedKafka.consumeFromAnEmbeddedTopic(consumer, "orders-topic");
+            List<ConsumerRecord<String, OrderEvent>> records = new ArrayList<>();
+            await().atMost(Duration.ofSeconds(10)).until(() -> {
+                KafkaTestUtils.getRecords(consumer, Duration.ofMillis(200)).forEach(records::add);
+                return records.stream().anyMatch(r -> id.toString().equals(r.key()));
+            });
+            OrderEvent event = records.stream()
+                    .filter(r -> id.toString().equals(r.key()))
+                    .findFirst().orElseThrow().value();
+            assertThat(event.type()).isEqualTo(OrderEventType.ORDER_PLACED);
+            assertThat(event.itemName()).isEqualTo("Relay R");
+        }
+    }
+
+    // ── Batch ──────────────────────────────────────────────────────────────
+
+    @Test
+    void createOrdersBatch_persistsValidEntriesAndReportsRejected() throws Exception {
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"itemName\":\"Bolt A\",\"quantity\":1},"
+                                + "{\"itemName\":\"Bolt B\",\"quantity\":0},"
+                                + "{\"itemName\":\"Bolt C\",\"quantity\":3}]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.results[0].order.status").value("PENDING"))
+                .andExpect(jsonPath("$.results[1].result").value("REJECTED"));
+
+        assertThat(orderRepository.count()).isEqualTo(2);
+    }
+
+    // ── Bulk status ────────────────────────────────────────────────────────
+
+    @Test
+    void updateStatuses_movesEligibleOrdersAndReportsTheRest() throws Exception {
+        Long a = placeOrder("Pallet A");
+        Long b = placeOrder("Pallet B");
+        Long cancelled = placeOrder("Pallet C");
+        mockMvc.perform(patch("/api/orders/" + cancelled + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CANCELLED\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + a + "," + b + "," + cancelled + ",999999],\"status\":\"PROCESSING\"}"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.status").value("PROCESSING"))
+                .andExpect(jsonPath("$.moved.length()").value(2))
+                .andExpect(jsonPath("$.rejected.length()").value(2));
+
+        assertThat(orderRepository.countByStatus(OrderStatus.PROCESSING)).isEqualTo(2);
+        assertThat(orderRepository.countByStatus(OrderStatus.CANCELLED)).isEqualTo(1);
+    }
+
+    // ── Status summary ─────────────────────────────────────────────────────
+
+    @Test
+    void statusSummary_tracksCreatesAndTransitionsWithoutQuerying() throws Exception {
+        statusCounts.reconcile(); // start from the (empty) table
+        Long a = placeOrder("Crate A");
+        placeOrder("Crate B");
+        mockMvc.perform(patch("/api/orders/" + a + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PROCESSING\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/orders/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.PENDING").value(1))
+                .andExpect(jsonPath("$.counts.PROCESSING").value(1))
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    // ── Export ─────────────────────────────────────────────────────────────
+
+    @Test
+    void exportOrders_streamsOneJsonObjectPerLine() throws Exception {
+        for (String item : new String[]{"Bolt A", "Bolt B", "Nut C"}) {
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"itemName\":\"" + item + "\",\"quantity\":1}"))
+                    .andExpect(status().isCreated());
+        }
+
+        MvcResult pending = mockMvc.perform(get("/api/orders/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines[0], OrderResponse.class).getItemName()).isEqualTo("Bolt A");
+        assertThat(objectMapper.readValue(lines[2], OrderResponse.class).getItemName()).isEqualTo("Nut C");
     }
 
     // ── Error handling ─────────────────────────────────────────────────────
@@ -122,4 +282,13 @@ class OrderIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("UP"));
     }
+
+    private Long placeOrder(String itemName) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"" + itemName + "\",\"quantity\":1}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), OrderResponse.class).getId();
+    }
 }
@@ -0,0 +1,46 @@
+package com.sysco.supplyservice.load;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latencies of one endpoint, recorded by a single load worker without locking;
+ * per-worker instances are merged once the run ends.
+ */
+final class LoadStats {
+
+    private long[] nanos = new long[1024];
+    private int count;
+
+    void record(long latencyNanos) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = latencyNanos;
+    }
+
+    static Summary summarize(List<LoadStats> parts, double seconds) {
+        int total = parts.stream().mapToInt(p -> p.count).sum();
+        long[] all = new long[total];
+        int at = 0;
+        for (LoadStats part : parts) {
+            System.arraycopy(part.nanos, 0, all, at, part.count);
+            at += part.count;
+        }
+        Arrays.sort(all);
+        return new Summary(total, total / seconds,
+                percentileMillis(all, 0.50), percentileMillis(all, 0.99), percentileMillis(all, 0.999));
+    }
+
+    // Nearest-rank percentile
+    private static double percentileMillis(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, rank)] / 1_000_000.0;
+    }
+
+    record Summary(long requests, double throughput, double p50Ms, double p99Ms, double p999Ms) {
+    }
+}
@@ -0,0 +1,269 @@
+package com.sysco.supplyservice.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: the full service on a random port, H2 + EmbeddedKafka, driven
+ * over HTTP by concurrent workers with a weighted mix of
+ *   create (POST /api/orders), get (GET /api/orders/{id}),
+ *   list (GET /api/orders?status=PENDING), update (PATCH /api/orders/{id}/status).
+ *
+ * Reports requests, throughput and p50/p99/p999 latency per endpoint and writes them
+ * to target/load-test/results.json. If a baseline file exists, the run fails when an
+ * endpoint's throughput drops, or its p99 rises, by more than load.max-regression.
+ *
+ * Not part of the default build (tag "load"). Run with:
+ *   mvn -Pload-test test [-Dload.concurrency=32] [-Dload.duration=60s] [-Dload.max-regression=0.2]
+ *   mvn -Pload-test test -Dload.record-baseline=true     (store this run as the baseline)
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.sysco.supplyservice=WARN"
+})
+@EmbeddedKafka(partitions = 1, topics = {"orders-topic"})
+@DirtiesContext
+class OrderLoadTest {
+
+    enum Endpoint { CREATE, GET, LIST, UPDATE }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${load.concurrency:16}")
+    private int concurrency;
+
+    @Value("${load.warmup:10s}")
+    private Duration warmup;
+
+    @Value("${load.duration:30s}")
+    private Duration duration;
+
+    // Relative weights of create / get / list / update
+    @Value("${load.mix:20,50,20,10}")
+    private int[] mix;
+
+    @Value("${load.max-regression:0.20}")
+    private double maxRegression;
+
+    @Value("${load.baseline:load-baseline.json}")
+    private Path baselineFile;
+
+    @Value("${load.record-baseline:false}")
+    private boolean recordBaseline;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    // Orders known to exist, and those still PENDING (each is moved at most once)
+    private final List<Long> orderIds = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<Long> pendingIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong errors = new AtomicLong();
+
+    @Test
+    void mixedWorkload_staysWithinBaseline() throws Exception {
+        assertThat(mix).hasSize(Endpoint.values().length);
+
+        run(warmup, false); // JIT, connection pools, caches; also seeds orders for get/update
+        errors.set(0);
+        Map<Endpoint, LoadStats.Summary> results = run(duration, true);
+
+        print(results);
+        ObjectNode report = toJson(results);
+        Path out = Path.of("target", "load-test", "results.json");
+        Files.createDirectories(out.getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), report);
+
+        assertThat(errors.get()).as("unexpected HTTP responses").isZero();
+
+        if (recordBaseline) {
+            objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(baselineFile.toFile(), report);
+            System.out.println("Load baseline written to " + baselineFile.toAbsolutePath());
+        } else if (Files.exists(baselineFile)) {
+            assertWithinBaseline(results, objectMapper.readTree(baselineFile.toFile()));
+        } else {
+            System.out.println("No load baseline at " + baselineFile.toAbsolutePath()
+                    + "; run with -Dload.record-baseline=true to store one");
+        }
+    }
+
+    // ── Driver ────────────────────────────────────────────────────────────
+    private Map<Endpoint, LoadStats.Summary> run(Duration length, boolean measure) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Map<Endpoint, LoadStats>> perWorker = new ArrayList<>();
+        List<Future<?>> running = new ArrayList<>();
+        long start = System.nanoTime();
+        long deadline = start + length.toNanos();
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                Map<Endpoint, LoadStats> stats = new EnumMap<>(Endpoint.class);
+                for (Endpoint e : Endpoint.values()) {
+                    stats.put(e, new LoadStats());
+                }
+                perWorker.add(stats);
+                running.add(workers.submit(() -> work(deadline, measure ? stats : null)));
+            }
+            for (Future<?> f : running) {
+                f.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Endpoint, LoadStats.Summary> summaries = new EnumMap<>(Endpoint.class);
+        for (Endpoint e : Endpoint.values()) {
+            summaries.put(e, LoadStats.summarize(perWorker.stream().map(s -> s.get(e)).toList(), seconds));
+        }
+        return summaries;
+    }
+
+    private Void work(long deadline, Map<Endpoint, LoadStats> stats) throws Exception {
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = pick();
+            long t0 = System.nanoTime();
+            Endpoint done = call(endpoint);
+            if (stats != null) {
+                stats.get(done).record(System.nanoTime() - t0);
+            }
+        }
+        return null;
+    }
+
+    private Endpoint pick() {
+        int total = 0;
+        for (int w : mix) {
+            total += w;
+        }
+        int r = ThreadLocalRandom.current().nextInt(total);
+        for (Endpoint e : Endpoint.values()) {
+            r -= mix[e.ordinal()];
+            if (r < 0) {
+                return e;
+            }
+        }
+        return Endpoint.CREATE;
+    }
+
+    // Returns the endpoint actually called: get/update fall back to create until there is data
+    private Endpoint call(Endpoint endpoint) throws IOException, InterruptedException {
+        switch (endpoint) {
+            case GET -> {
+                if (orderIds.isEmpty()) {
+                    return call(Endpoint.CREATE);
+                }
+                Long id = orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()));
+                expect(send(HttpRequest.newBuilder(uri("/api/orders/" + id)).GET()), 200);
+            }
+            case LIST -> expect(send(HttpRequest.newBuilder(uri("/api/orders?status=PENDING&limit=50")).GET()), 200);
+            case UPDATE -> {
+                Long id = pendingIds.poll();
+                if (id == null) {
+                    return call(Endpoint.CREATE);
+                }
+                expect(send(HttpRequest.newBuilder(uri("/api/orders/" + id + "/status"))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\":\"PROCESSING\"}"))), 200);
+            }
+            case CREATE -> {
+                HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/orders"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"itemName\":\"Load Bolt\",\"quantity\":3}")));
+                if (expect(response, 201)) {
+                    long id = objectMapper.readTree(response.body()).get("id").asLong();
+                    orderIds.add(id);
+                    pendingIds.add(id);
+                }
+            }
+        }
+        return endpoint;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private boolean expect(HttpResponse<String> response, int status) {
+        if (response.statusCode() != status) {
+            errors.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    // ── Reporting ─────────────────────────────────────────────────────────
+    private void print(Map<Endpoint, LoadStats.Summary> results) {
+        System.out.printf("%nLoad test: %d workers, %s%n", concurrency, duration);
+        System.out.printf("%-8s %10s %12s %10s %10s %10s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms");
+        results.forEach((e, s) -> System.out.printf("%-8s %10d %12.1f %10.2f %10.2f %10.2f%n",
+                e, s.requests(), s.throughput(), s.p50Ms(), s.p99Ms(), s.p999Ms()));
+    }
+
+    private ObjectNode toJson(Map<Endpoint, LoadStats.Summary> results) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("concurrency", concurrency);
+        root.put("durationSeconds", duration.toSeconds());
+        ObjectNode endpoints = root.putObject("endpoints");
+        results.forEach((e, s) -> endpoints.set(e.name(), objectMapper.valueToTree(s)));
+        return root;
+    }
+
+    private void assertWithinBaseline(Map<Endpoint, LoadStats.Summary> results, JsonNode baseline) {
+        List<String> regressions = new ArrayList<>();
+        results.forEach((e, s) -> {
+            JsonNode base = baseline.path("endpoints").path(e.name());
+            if (base.isMissingNode()) {
+                return;
+            }
+            double baseThroughput = base.path("throughput").asDouble();
+            double baseP99 = base.path("p99Ms").asDouble();
+            if (s.throughput() < baseThroughput * (1 - maxRegression)) {
+                regressions.add(String.format("%s throughput %.1f req/s < baseline %.1f", e, s.throughput(), baseThroughput));
+            }
+            if (baseP99 > 0 && s.p99Ms() > baseP99 * (1 + maxRegression)) {
+                regressions.add(String.format("%s p99 %.2f ms > baseline %.2f", e, s.p99Ms(), baseP99));
+            }
+        });
+        assertThat(regressions)
+                .as("regressions beyond %.0f%% of %s", maxRegression * 100, baselineFile)
+                .isEmpty();
+    }
+}
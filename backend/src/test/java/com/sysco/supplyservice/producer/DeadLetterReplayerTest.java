@@ -0,0 +1,128 @@
+package com.sysco.supplyservice.producer;
+
+import com.sysco.supplyservice.dto.DeadLetterReplayResponse;
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.model.DeadLetterEvent;
+import com.sysco.supplyservice.model.OutboxEvent;
+import com.sysco.supplyservice.repository.DeadLetterRepository;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DeadLetterReplayer.
+ * Repository and Kafka are mocked, behind a real KafkaPublisher; transactions are a pass-through.
+ */
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayerTest {
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private KafkaOperations<String, byte[]> kafkaTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private DeadLetterReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        KafkaPublisher publisher = new KafkaPublisher(kafkaTemplate, circuitBreakers, BulkheadRegistry.ofDefaults(),
+                Duration.ofSeconds(1), registry);
+        replayer = new DeadLetterReplayer(deadLetterRepository, publisher, TransactionOperations.withoutTransaction(),
+                registry, 2, Duration.ofSeconds(30), Duration.ofMinutes(5));
+    }
+
+    @Test
+    void replayDue_republishesAndDeletesAckedDeadLetters() {
+        DeadLetterEvent first = deadLetter(1L);
+        DeadLetterEvent second = deadLetter(2L);
+        when(deadLetterRepository.findDueForUpdate(any(), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of());
+        when(kafkaTemplate.send(eq("orders-topic"), anyString(), any(byte[].class))).thenReturn(acked());
+        when(deadLetterRepository.count()).thenReturn(0L);
+
+        replayer.replayDue();
+
+        verify(kafkaTemplate).send("orders-topic", "101", first.getPayload());
+        verify(kafkaTemplate).send("orders-topic", "102", second.getPayload());
+        verify(deadLetterRepository).deleteAllInBatch(List.of(first, second));
+        assertThat(registry.get("outbox.dead_letter.replayed").counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("outbox.dead_letter.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void replayDue_waitsWhileTheBrokerIsUnhealthy() {
+        circuitBreakers.circuitBreaker("kafkaPublish").transitionToOpenState();
+        when(deadLetterRepository.count()).thenReturn(3L);
+        when(deadLetterRepository.findOldestFailedAt()).thenReturn(LocalDateTime.now().minusMinutes(2));
+
+        replayer.replayDue();
+
+        verify(deadLetterRepository, never()).findDueForUpdate(any(), any());
+        verifyNoInteractions(kafkaTemplate);
+        assertThat(registry.get("outbox.dead_letter.depth").gauge().value()).isEqualTo(3.0);
+        assertThat(registry.get("outbox.dead_letter.oldest.age").gauge().value()).isGreaterThanOrEqualTo(120.0);
+    }
+
+    @Test
+    void replayAll_backsOffTheFailedEventAndKeepsTheRest() {
+        DeadLetterEvent failing = deadLetter(1L);
+        failing.setAttempts(2);
+        when(deadLetterRepository.findReplayableForUpdate(any())).thenReturn(List.of(failing, deadLetter(2L)));
+        when(kafkaTemplate.send(eq("orders-topic"), eq("101"), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka down")));
+        when(kafkaTemplate.send(eq("orders-topic"), eq("102"), any(byte[].class))).thenReturn(acked());
+        when(deadLetterRepository.count()).thenReturn(2L);
+
+        LocalDateTime before = LocalDateTime.now();
+        DeadLetterReplayResponse response = replayer.replayAll();
+
+        assertThat(response.getReplayed()).isZero();
+        assertThat(response.getRemaining()).isEqualTo(2);
+        verify(deadLetterRepository).deleteAllInBatch(List.of());
+        assertThat(failing.getAttempts()).isEqualTo(3);
+        // third failure: 30s × 2^2
+        assertThat(failing.getNextAttemptAt()).isAfterOrEqualTo(before.plusMinutes(2));
+        assertThat(failing.getLastError()).contains("Kafka down");
+    }
+
+    @Test
+    void backoff_doublesUpToTheCap() {
+        assertThat(replayer.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(replayer.backoff(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(replayer.backoff(4)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(replayer.backoff(5)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(replayer.backoff(60)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    private static DeadLetterEvent deadLetter(Long id) {
+        OutboxEvent event = OutboxEvent.of(OrderEvent.statusUpdate(100L + id, "SHIPPED", 0L));
+        event.setId(id);
+        event.setCreatedAt(LocalDateTime.now().minusHours(1));
+        return DeadLetterEvent.of(event, "timeout", LocalDateTime.now().minusMinutes(10));
+    }
+
+    private static CompletableFuture<SendResult<String, byte[]>> acked() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,133 @@
+package com.sysco.supplyservice.producer;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KafkaPublisher.
+ * Kafka is mocked; the circuit breaker and bulkhead are real, with small thresholds.
+ */
+@ExtendWith(MockitoExtension.class)
+class KafkaPublisherTest {
+
+    @Mock
+    private KafkaOperations<String, byte[]> kafkaTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private KafkaPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        publisher = new KafkaPublisher(kafkaTemplate, circuitBreakers, bulkheads, Duration.ofMillis(200), registry);
+    }
+
+    @Test
+    void publish_acksTheWholeBatch() {
+        when(kafkaTemplate.send(eq("orders-topic"), anyString(), any(byte[].class))).thenReturn(acked());
+
+        KafkaPublisher.Outcome outcome = publisher.publish(List.of(message(1L), message(2L)));
+
+        assertThat(outcome.acked()).isEqualTo(2);
+        assertThat(outcome.failure()).isNull();
+        assertThat(outcome.rejected()).isFalse();
+        verify(kafkaTemplate).send(eq("orders-topic"), eq("1"), any(byte[].class));
+        verify(kafkaTemplate).flush();
+    }
+
+    @Test
+    void publish_stopsAtTheFirstFailedAck() {
+        when(kafkaTemplate.send(eq("orders-topic"), eq("1"), any(byte[].class))).thenReturn(acked());
+        when(kafkaTemplate.send(eq("orders-topic"), eq("2"), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka down")));
+        when(kafkaTemplate.send(eq("orders-topic"), eq("3"), any(byte[].class))).thenReturn(acked());
+
+        KafkaPublisher.Outcome outcome = publisher.publish(List.of(message(1L), message(2L), message(3L)));
+
+        assertThat(outcome.acked()).isEqualTo(1);
+        assertThat(outcome.failure()).isInstanceOf(ExecutionException.class);
+        assertThat(outcome.rejected()).isFalse();
+    }
+
+    @Test
+    void publish_timesOutAgainstOneDeadlineForTheBatch() {
+        when(kafkaTemplate.send(eq("orders-topic"), anyString(), any(byte[].class)))
+                .thenReturn(new CompletableFuture<>());
+
+        KafkaPublisher.Outcome outcome = publisher.publish(List.of(message(1L), message(2L)));
+
+        assertThat(outcome.acked()).isZero();
+        assertThat(outcome.failure()).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void publish_rejectsWithoutSendingOnceTheCircuitOpens() {
+        when(kafkaTemplate.send(eq("orders-topic"), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka down")));
+
+        publisher.publish(List.of(message(1L)));
+        publisher.publish(List.of(message(2L)));
+        assertThat(publisher.brokerAvailable()).isFalse();
+
+        KafkaPublisher.Outcome outcome = publisher.publish(List.of(message(3L)));
+
+        assertThat(outcome.rejected()).isTrue();
+        assertThat(outcome.acked()).isZero();
+        verify(kafkaTemplate, never()).send(eq("orders-topic"), eq("3"), any(byte[].class));
+        assertThat(registry.get("kafka.publish.rejected").tag("reason", "circuit_open").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void publish_rejectsWhenTheBulkheadIsFull() {
+        Bulkhead bulkhead = bulkheads.bulkhead("kafkaPublish");
+        assertThat(bulkhead.tryAcquirePermission()).isTrue();
+
+        KafkaPublisher.Outcome outcome = publisher.publish(List.of(message(1L)));
+
+        assertThat(outcome.rejected()).isTrue();
+        verifyNoInteractions(kafkaTemplate);
+        assertThat(registry.get("kafka.publish.rejected").tag("reason", "bulkhead_full").counter().count())
+                .isEqualTo(1.0);
+        assertThat(publisher.brokerAvailable()).isTrue();
+        bulkhead.onComplete();
+    }
+
+    private static KafkaPublisher.Message message(Long orderId) {
+        return new KafkaPublisher.Message(orderId, new byte[]{1});
+    }
+
+    private static CompletableFuture<SendResult<String, byte[]>> acked() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,171 @@
+package com.sysco.supplyservice.producer;
+
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.model.DeadLetterEvent;
+import com.sysco.supplyservice.model.OutboxEvent;
+import com.sysco.supplyservice.repository.DeadLetterRepository;
+import com.sysco.supplyservice.repository.OutboxRepository;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay.
+ * Repository and Kafka are mocked, behind a real KafkaPublisher; transactions are a pass-through.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private KafkaOperations<String, byte[]> kafkaTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        KafkaPublisher publisher = new KafkaPublisher(kafkaTemplate, circuitBreakers, BulkheadRegistry.ofDefaults(),
+                Duration.ofSeconds(1), registry);
+        relay = new OutboxRelay(outboxRepository, deadLetterRepository, publisher,
+                TransactionOperations.withoutTransaction(), 2, 3, Duration.ofHours(24), registry);
+        lenient().when(outboxRepository.tryLockRelay()).thenReturn(true);
+    }
+
+    @Test
+    void relayBatch_skipsThePollWhileAnotherInstanceRelays() {
+        when(outboxRepository.tryLockRelay()).thenReturn(false);
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verify(outboxRepository, never()).findUnsentForUpdate(any());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void relayBatch_sendsEventsAndMarksThemSent() {
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        when(outboxRepository.findUnsentForUpdate(Limit.of(2))).thenReturn(List.of(first, second));
+        when(kafkaTemplate.send(eq("orders-topic"), anyString(), any(byte[].class))).thenReturn(acked());
+
+        int sent = relay.relayBatch();
+
+        assertThat(sent).isEqualTo(2);
+        // keyed by order id, payload forwarded unchanged
+        verify(kafkaTemplate).send("orders-topic", "101", first.getPayload());
+        verify(kafkaTemplate).send("orders-topic", "102", second.getPayload());
+        verify(kafkaTemplate).flush();
+        verify(outboxRepository).markSent(eq(List.of(1L, 2L)), any());
+        assertThat(registry.get("outbox.events.published").counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("outbox.publish.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void relayBatch_marksOnlyEventsBeforeTheFirstFailure() {
+        when(outboxRepository.findUnsentForUpdate(any())).thenReturn(List.of(event(1L), event(2L)));
+        when(kafkaTemplate.send(eq("orders-topic"), eq("101"), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka down")));
+        when(kafkaTemplate.send(eq("orders-topic"), eq("102"), any(byte[].class))).thenReturn(acked());
+
+        int sent = relay.relayBatch();
+
+        assertThat(sent).isZero();
+        verify(outboxRepository, never()).markSent(anyList(), any());
+        assertThat(registry.get("outbox.publish.failures").tag("cause", "error").counter().count()).isEqualTo(1.0);
+        verifyNoInteractions(deadLetterRepository);
+    }
+
+    @Test
+    void relayBatch_leavesEventsUntouchedWhileTheCircuitIsOpen() {
+        OutboxEvent event = event(1L);
+        when(outboxRepository.findUnsentForUpdate(any())).thenReturn(List.of(event));
+        circuitBreakers.circuitBreaker("kafkaPublish").transitionToOpenState();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(relay.relayBatch()).isZero();
+        }
+
+        verifyNoInteractions(kafkaTemplate, deadLetterRepository);
+        assertThat(event.getAttempts()).isZero();
+        assertThat(registry.get("kafka.publish.rejected").tag("reason", "circuit_open").counter().count())
+                .isEqualTo(5.0);
+    }
+
+    @Test
+    void relayBatch_deadLettersAnEventAfterMaxAttempts() {
+        OutboxEvent poison = event(1L);
+        when(outboxRepository.findUnsentForUpdate(any())).thenReturn(List.of(poison));
+        when(kafkaTemplate.send(eq("orders-topic"), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("record too large")));
+
+        relay.relayBatch();
+        relay.relayBatch();
+        verifyNoInteractions(deadLetterRepository);
+        relay.relayBatch();
+
+        ArgumentCaptor<DeadLetterEvent> deadLetter = ArgumentCaptor.forClass(DeadLetterEvent.class);
+        verify(deadLetterRepository).save(deadLetter.capture());
+        verify(outboxRepository).delete(poison);
+        assertThat(deadLetter.getValue().getId()).isEqualTo(1L);
+        assertThat(deadLetter.getValue().getOrderId()).isEqualTo(101L);
+        assertThat(deadLetter.getValue().getPayload()).isEqualTo(poison.getPayload());
+        assertThat(deadLetter.getValue().getLastError()).contains("record too large");
+        assertThat(registry.get("outbox.events.dead_lettered").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void relay_keepsDrainingWhileBatchesAreFull() {
+        when(outboxRepository.findUnsentForUpdate(any()))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+        when(kafkaTemplate.send(eq("orders-topic"), anyString(), any(byte[].class))).thenReturn(acked());
+
+        relay.relay();
+
+        verify(outboxRepository, times(2)).findUnsentForUpdate(any());
+        verify(outboxRepository).markSent(eq(List.of(3L)), any());
+    }
+
+    @Test
+    void relayBatch_doesNothingWhenOutboxIsEmpty() {
+        when(outboxRepository.findUnsentForUpdate(any())).thenReturn(List.of());
+
+        assertThat(relay.relayBatch()).isZero();
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private static OutboxEvent event(Long id) {
+        OutboxEvent event = OutboxEvent.of(OrderEvent.statusUpdate(100L + id, "SHIPPED", 0L));
+        event.setId(id);
+        return event;
+    }
+
+    private static CompletableFuture<SendResult<String, byte[]>> acked() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
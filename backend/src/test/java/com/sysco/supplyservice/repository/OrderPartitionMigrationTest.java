@@ -0,0 +1,306 @@
+package com.sysco.supplyservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs V5 against a real PostgreSQL holding orders from January to May 2025, then
+ * checks the partitioned layout and the partition functions OrderArchiver calls
+ * (through OrderPartitions; V8 revised the create function). Also covers V6 and V9: item-name search (OrderSearch)
+ * on the partitioned table goes through the prefix B-tree or the trigram index.
+ *
+ * Needs Docker; skipped (not failed) when it is unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OrderPartitionMigrationTest {
+
+    private static final int ROWS = 20_000;
+
+    // What OrderStatusTransitionsImpl runs on PostgreSQL, for one order
+    private static final String TRANSITION =
+            "UPDATE supply_orders o SET status = 1, updated_at = now() "
+            + "FROM (SELECT id, created_at, status FROM supply_orders "
+            + "WHERE id IN (%d) AND status IN (0) FOR UPDATE) prev "
+            + "WHERE o.id = prev.id AND o.created_at = prev.created_at "
+            + "RETURNING o.id, o.item_name, o.quantity, o.created_at, prev.status";
+
+    // A scan node reading one partition: "... Scan [using index] on <partition> <alias>"
+    private static final Pattern PARTITION_SCAN = Pattern.compile("Scan .*on supply_orders_\\w+ \\w+");
+
+    // Prefix search as OrderSearchImpl runs it, first page
+    private static final String PREFIX_SEARCH = "SELECT * FROM supply_orders "
+            + "WHERE lower(item_name) COLLATE \"C\" LIKE 'item 1%' "
+            + "ORDER BY lower(item_name) COLLATE \"C\", status, created_at, id LIMIT 51";
+
+    // What OrderSearchImpl runs before a fuzzy search
+    private static final String SET_THRESHOLD = "SELECT set_config('pg_trgm.word_similarity_threshold', ";
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void seedAndMigrate() throws SQLException {
+        migrate("4");
+
+        try (Connection conn = connect(); Statement st = conn.createStatement()) {
+            // One order every 10 minutes from 2025-01-01 (into late May), ~1% still PENDING
+            st.execute("INSERT INTO supply_orders (id, item_name, quantity, status, created_at, updated_at) "
+                    + "SELECT g, 'Item ' || g, 1 + g % 50, CASE WHEN g % 100 = 0 THEN 0 ELSE 2 END, "
+                    + "TIMESTAMP '2025-01-01' + g * INTERVAL '10 minutes', "
+                    + "TIMESTAMP '2025-01-01' + g * INTERVAL '10 minutes' "
+                    + "FROM generate_series(1, " + ROWS + ") g");
+            // A row from before created_at was always set
+            st.execute("INSERT INTO supply_orders (id, item_name, quantity, status, created_at, updated_at) "
+                    + "VALUES (" + (ROWS + 1) + ", 'Legacy', 1, 2, NULL, TIMESTAMP '2025-02-15')");
+        }
+
+        migrate("latest");
+    }
+
+    @Test
+    void migration_keepsEveryRow() throws SQLException {
+        assertThat(queryLong("SELECT count(*) FROM supply_orders")).isEqualTo(ROWS + 1);
+        assertThat(queryLong("SELECT count(*) FROM supply_orders "
+                + "WHERE id = " + (ROWS + 1) + " AND created_at = TIMESTAMP '2025-02-15'")).isEqualTo(1);
+        assertThat(queryLong("SELECT count(*) FROM supply_orders_default")).isZero();
+    }
+
+    @Test
+    void migration_createsMonthlyPartitionsThroughTwelveMonthsAhead() throws SQLException {
+        List<String> partitions = queryStrings("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'supply_orders'::regclass");
+
+        assertThat(partitions).contains("supply_orders_2025_01", "supply_orders_2025_05", "supply_orders_default",
+                "supply_orders_" + LocalDate.now().plusMonths(12).format(DateTimeFormatter.ofPattern("yyyy_MM")));
+        assertThat(queryLong("SELECT count(*) FROM supply_orders_2025_02"))
+                .isEqualTo(queryLong("SELECT count(*) FROM supply_orders "
+                        + "WHERE created_at >= TIMESTAMP '2025-02-01' AND created_at < TIMESTAMP '2025-03-01'"));
+    }
+
+    @Test
+    void timeRangeScan_onlyReadsTheMonthsItCovers() throws SQLException {
+        String plan = plan("SELECT * FROM supply_orders WHERE status = 0 "
+                + "AND created_at >= TIMESTAMP '2025-02-01' AND created_at < TIMESTAMP '2025-03-01'");
+
+        assertThat(plan).contains("supply_orders_2025_02")
+                .doesNotContain("supply_orders_2025_01")
+                .doesNotContain("supply_orders_2025_03");
+    }
+
+    @Test
+    void createPartitions_onlyCreatesMissingMonths() throws SQLException {
+        assertThat(queryStrings("SELECT supply_orders_create_partitions(TIMESTAMP '2025-01-01', TIMESTAMP '2025-05-31')"))
+                .isEmpty();
+        assertThat(queryStrings("SELECT supply_orders_create_partitions(TIMESTAMP '2024-11-10', TIMESTAMP '2024-12-10')"))
+                .containsExactly("supply_orders_2024_11", "supply_orders_2024_12");
+    }
+
+    @Test
+    void createPartitions_movesRowsOutOfTheDefaultPartition() throws SQLException {
+        try (Connection conn = connect(); Statement st = conn.createStatement()) {
+            st.execute("INSERT INTO supply_orders (id, item_name, quantity, status, created_at, updated_at) VALUES "
+                    + "(nextval('supply_orders_seq'), 'Stray A', 1, 2, TIMESTAMP '2024-03-10', NULL), "
+                    + "(nextval('supply_orders_seq'), 'Stray B', 1, 2, TIMESTAMP '2024-05-20', NULL)");
+        }
+        assertThat(queryLong("SELECT count(*) FROM supply_orders_default")).isEqualTo(2);
+
+        // 2024_05 is in range; 2024_03 comes along because the default partition holds
+        // one of its rows, while the empty 2024_04 is skipped
+        assertThat(queryStrings("SELECT supply_orders_create_partitions(TIMESTAMP '2024-05-01', TIMESTAMP '2024-05-01')"))
+                .containsExactly("supply_orders_2024_03", "supply_orders_2024_05");
+
+        assertThat(queryLong("SELECT count(*) FROM supply_orders_default")).isZero();
+        assertThat(queryStrings("SELECT tableoid::regclass || ' ' || item_name FROM supply_orders "
+                + "WHERE item_name LIKE 'Stray%' ORDER BY item_name"))
+                .containsExactly("supply_orders_2024_03 Stray A", "supply_orders_2024_05 Stray B");
+        assertThat(queryStrings("SELECT indexdef FROM pg_indexes WHERE tablename = 'supply_orders_2024_03'"))
+                .anySatisfy(def -> assertThat(def).contains("_pkey").contains("(id, created_at)"))
+                .anySatisfy(def -> assertThat(def).contains("gin_trgm_ops"));
+
+        try (Connection conn = connect(); Statement st = conn.createStatement()) {
+            st.execute("DELETE FROM supply_orders WHERE item_name LIKE 'Stray%'");
+        }
+    }
+
+    @Test
+    void dropEmptyPartitions_dropsOnlyEmptyMonthsBeforeTheCutoff() throws SQLException {
+        try (Connection conn = connect(); Statement st = conn.createStatement()) {
+            st.execute("SELECT supply_orders_create_partitions(TIMESTAMP '2024-10-01', TIMESTAMP '2024-10-01')");
+        }
+
+        // 2024_10 is empty and ended before the cutoff; 2025_01 ends after it
+        assertThat(queryStrings("SELECT supply_orders_drop_empty_partitions(TIMESTAMP '2025-01-15')"))
+                .contains("supply_orders_2024_10")
+                .doesNotContain("supply_orders_2025_01");
+        // 2025_01 ended before this cutoff but still holds orders
+        assertThat(queryStrings("SELECT supply_orders_drop_empty_partitions(TIMESTAMP '2025-02-01')")).isEmpty();
+        assertThat(queryLong("SELECT count(*) FROM supply_orders_2025_01")).isPositive();
+    }
+
+    // ── Lookups by id ─────────────────────────────────────────────────────
+    // No index covers id alone, so a lookup by id reads one index per partition (the
+    // empty months ahead included) unless created_at narrows it. These checks take the
+    // sequential scans away, as on a table large enough that the planner avoids them.
+    @Test
+    void lookupById_probesEveryPartition() throws SQLException {
+        long partitions = queryLong("SELECT count(*) FROM pg_inherits WHERE inhparent = 'supply_orders'::regclass");
+
+        String byId = planWithoutSeqScan("SELECT * FROM supply_orders WHERE id = 9000");
+        String byIdInMonth = planWithoutSeqScan("SELECT * FROM supply_orders WHERE id = 9000 "
+                + "AND created_at >= TIMESTAMP '2025-03-01' AND created_at < TIMESTAMP '2025-04-01'");
+
+        assertThat(partitionScans(byId)).isEqualTo(partitions);
+        assertThat(byIdInMonth).contains("supply_orders_2025_03_pkey").doesNotContain("Append");
+    }
+
+    @Test
+    void transition_updatesOnlyThePartitionHoldingTheOrder() throws SQLException {
+        long partitions = queryLong("SELECT count(*) FROM pg_inherits WHERE inhparent = 'supply_orders'::regclass");
+
+        // Order 9000 (PENDING) was created in March
+        String plan = String.join("\n", explainWithoutSeqScan("EXPLAIN (ANALYZE, COSTS OFF) ", TRANSITION.formatted(9000)));
+
+        // The locking sub-select probes every partition; the update side is pruned at run time
+        assertThat(partitionScans(plan)).isEqualTo(2 * partitions);
+        assertThat(plan.lines().filter(line -> PARTITION_SCAN.matcher(line).find())
+                .filter(line -> line.contains("never executed")).count()).isEqualTo(partitions - 1);
+    }
+
+    // ── Item-name search (V6, V9) ─────────────────────────────────────────
+    // At this table size a sequential scan of a partition can be cheaper, so these
+    // checks take it away and expect the intended index rather than another plan.
+    @Test
+    void prefixSearch_readsThePrefixIndexInOrder() throws SQLException {
+        String plan = planWithoutSeqScan(PREFIX_SEARCH);
+
+        // Each partition's index scan is already in order: merged, never sorted
+        assertThat(plan).contains("Merge Append", "Index Scan using supply_orders_2025_01_lower_status_created_at_id_idx")
+                .doesNotContain("->  Sort", "Bitmap");
+    }
+
+    @Test
+    void fuzzySearch_canUseTrigramIndexAndPrunesByCreatedAt() throws SQLException {
+        String plan = planWithoutSeqScan("SELECT * FROM supply_orders WHERE lower(item_name) %> 'itme 12345' "
+                + "AND created_at >= TIMESTAMP '2025-03-01' AND created_at < TIMESTAMP '2025-04-01'",
+                SET_THRESHOLD + "'0.5', true)");
+
+        assertThat(plan).contains("Bitmap Index Scan on supply_orders_2025_03_lower_idx")
+                .doesNotContain("supply_orders_2025_02");
+    }
+
+    // As OrderSearchImpl runs it: the transaction-local threshold wins over the session's
+    @Test
+    void fuzzySearch_matchesAtTheThresholdSetForTheTransaction() throws SQLException {
+        // word_similarity('itme 12345', 'item 12345') is 0.57
+        assertThat(fuzzyMatches("0.5", "itme 12345")).contains("Item 12345").doesNotContain("Item 12346");
+        assertThat(fuzzyMatches("0.6", "itme 12345")).isEmpty();
+        assertThat(fuzzyMatches("0.6", "item 12345")).contains("Item 12345");
+    }
+
+    @Test
+    void partitionsCreatedLater_getTheSearchIndexes() throws SQLException {
+        queryStrings("SELECT supply_orders_create_partitions(TIMESTAMP '2024-08-01', TIMESTAMP '2024-08-01')");
+
+        assertThat(queryStrings("SELECT indexdef FROM pg_indexes WHERE tablename = 'supply_orders_2024_08'"))
+                .anySatisfy(def -> assertThat(def).contains("gin_trgm_ops"))
+                .anySatisfy(def -> assertThat(def).contains("COLLATE \"C\"", "status, created_at, id"));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────
+    private static void migrate(String target) {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private static String plan(String sql) throws SQLException {
+        return String.join("\n", queryStrings("EXPLAIN " + sql));
+    }
+
+    private static String planWithoutSeqScan(String sql, String... setup) throws SQLException {
+        return String.join("\n", explainWithoutSeqScan("EXPLAIN ", sql, setup));
+    }
+
+    // Rolled back, so EXPLAIN ANALYZE of a write leaves nothing behind
+    private static List<String> explainWithoutSeqScan(String explain, String sql, String... setup) throws SQLException {
+        List<String> lines = new ArrayList<>();
+        try (Connection conn = connect(); Statement st = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            st.execute("SET LOCAL enable_seqscan = off");
+            for (String statement : setup) {
+                st.execute(statement);
+            }
+            try (ResultSet rs = st.executeQuery(explain + sql)) {
+                while (rs.next()) {
+                    lines.add(rs.getString(1));
+                }
+            }
+            conn.rollback();
+        }
+        return lines;
+    }
+
+    private static long partitionScans(String plan) {
+        return plan.lines().filter(line -> PARTITION_SCAN.matcher(line).find()).count();
+    }
+
+    // The session asks for 0.9; the transaction sets the threshold under test
+    private static List<String> fuzzyMatches(String threshold, String text) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Connection conn = connect(); Statement st = conn.createStatement()) {
+            st.execute("SET pg_trgm.word_similarity_threshold = 0.9");
+            conn.setAutoCommit(false);
+            st.execute(SET_THRESHOLD + "'" + threshold + "', true)");
+            try (ResultSet rs = st.executeQuery("SELECT item_name FROM supply_orders "
+                    + "WHERE lower(item_name) %> '" + text + "' ORDER BY created_at, id")) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                }
+            }
+            conn.rollback();
+        }
+        return names;
+    }
+
+    private static long queryLong(String sql) throws SQLException {
+        try (Connection conn = connect(); Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static List<String> queryStrings(String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection conn = connect(); Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+}
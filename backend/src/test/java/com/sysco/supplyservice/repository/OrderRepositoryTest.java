@@ -1,15 +1,28 @@
 package com.sysco.supplyservice.repository;
 
+import com.sysco.supplyservice.dto.OrderCursor;
+import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.model.OrderStatus;
 import com.sysco.supplyservice.model.SupplyOrder;
+import com.sysco.supplyservice.repository.OrderSearch.MatchMode;
+import com.sysco.supplyservice.repository.OrderSearch.SearchCriteria;
+import com.sysco.supplyservice.repository.OrderStatusTransitions.StatusChange;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.sysco.supplyservice.model.OrderStatus.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 /**
  * Repository slice tests — only JPA layer is loaded, H2 in-memory DB is used.
@@ -24,44 +37,227 @@ class OrderRepositoryTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         orderRepository.deleteAll();
         orderRepository.saveAll(List.of(
-            order("Bolt A", 5, "PENDING"),
-            order("Bolt B", 3, "PENDING"),
-            order("Nut C", 10, "SHIPPED")
+            order("Bolt A", 5, PENDING),
+            order("Bolt B", 3, PENDING),
+            order("Nut C", 10, SHIPPED)
         ));
     }
 
     @Test
     void findByStatus_returnsOnlyMatchingOrders() {
-        List<SupplyOrder> pending = orderRepository.findByStatus("PENDING");
+        List<SupplyOrder> pending = orderRepository.findByStatus(PENDING);
         assertThat(pending).hasSize(2);
-        assertThat(pending).allMatch(o -> "PENDING".equals(o.getStatus()));
+        assertThat(pending).allMatch(o -> o.getStatus() == PENDING);
     }
 
     @Test
     void findByStatus_returnsEmptyListForUnknownStatus() {
-        assertThat(orderRepository.findByStatus("PROCESSING")).isEmpty();
+        assertThat(orderRepository.findByStatus(PROCESSING)).isEmpty();
     }
 
     @Test
     void countByStatus_returnsCorrectCounts() {
-        assertThat(orderRepository.countByStatus("PENDING")).isEqualTo(2);
-        assertThat(orderRepository.countByStatus("SHIPPED")).isEqualTo(1);
-        assertThat(orderRepository.countByStatus("CANCELLED")).isEqualTo(0);
+        assertThat(orderRepository.countByStatus(PENDING)).isEqualTo(2);
+        assertThat(orderRepository.countByStatus(SHIPPED)).isEqualTo(1);
+        assertThat(orderRepository.countByStatus(CANCELLED)).isEqualTo(0);
     }
 
     @Test
     void save_persistsTimestampsAutomatically() {
-        SupplyOrder saved = orderRepository.save(order("Gear D", 7, "PENDING"));
+        SupplyOrder saved = orderRepository.save(order("Gear D", 7, PENDING));
         assertThat(saved.getId()).isNotNull();
         assertThat(saved.getCreatedAt()).isNotNull();
         assertThat(saved.getUpdatedAt()).isNotNull();
     }
 
-    private SupplyOrder order(String item, int qty, String status) {
+    @Test
+    void keysetPages_walkAllOrdersWithoutOverlap() {
+        List<OrderResponse> first = orderRepository.findFirstPage(Limit.of(2));
+        assertThat(first).extracting(OrderResponse::getItemName).containsExactly("Bolt A", "Bolt B");
+
+        OrderResponse last = first.get(1);
+        List<OrderResponse> second = orderRepository.findPageAfter(last.getCreatedAt(), last.getId(), Limit.of(2));
+        assertThat(second).extracting(OrderResponse::getItemName).containsExactly("Nut C");
+    }
+
+    @Test
+    void keysetPagesByStatus_onlyReturnMatchingOrders() {
+        List<OrderResponse> first = orderRepository.findFirstPageByStatus(PENDING, Limit.of(1));
+        assertThat(first).extracting(OrderResponse::getItemName).containsExactly("Bolt A");
+
+        OrderResponse last = first.get(0);
+        List<OrderResponse> second = orderRepository.findPageByStatusAfter(
+                PENDING, last.getCreatedAt(), last.getId(), Limit.of(5));
+        assertThat(second).extracting(OrderResponse::getItemName).containsExactly("Bolt B");
+    }
+
+    @Test
+    void findResponseById_projectsWithoutLoadingTheEntity() {
+        SupplyOrder saved = orderRepository.save(order("Gear D", 7, SHIPPED));
+        entityManager.flush();
+        entityManager.clear();
+
+        OrderResponse response = orderRepository.findResponseById(saved.getId()).orElseThrow();
+
+        assertThat(response.getItemName()).isEqualTo("Gear D");
+        assertThat(response.getStatus()).isEqualTo("SHIPPED");
+        assertThat(response.getCreatedAt()).isEqualTo(saved.getCreatedAt());
+        // Nothing was loaded into the persistence context
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(orderRepository.findResponseById(-1L)).isEmpty();
+    }
+
+    @Test
+    void findResponseById_isNotRoutedToTheReadReplica() throws NoSuchMethodException {
+        // Read-only transactions go to the replica (ReadReplicaDataSource); OrderCache
+        // loads misses through these two and must see the latest write
+        assertThat(OrderRepository.class.getMethod("findResponseById", Long.class)
+                .getAnnotation(Transactional.class).readOnly()).isFalse();
+        assertThat(ArchivedOrderRepository.class.getMethod("findResponseById", Long.class)
+                .getAnnotation(Transactional.class).readOnly()).isFalse();
+    }
+
+    @Test
+    void findIdsByStatusUpdatedBefore_returnsOrdersUntouchedSinceTheCutoff() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(orderRepository.findIdsByStatusUpdatedBefore(PENDING, now.plusMinutes(1), Limit.of(10))).hasSize(2);
+        assertThat(orderRepository.findIdsByStatusUpdatedBefore(PENDING, now.plusMinutes(1), Limit.of(1))).hasSize(1);
+        assertThat(orderRepository.findIdsByStatusUpdatedBefore(PENDING, now.minusMinutes(1), Limit.of(10))).isEmpty();
+        assertThat(orderRepository.findIdsByStatusUpdatedBefore(PROCESSING, now.plusMinutes(1), Limit.of(10))).isEmpty();
+    }
+
+    @Test
+    void countGroupedByStatus_returnsOneRowPerStatus() {
+        assertThat(orderRepository.countGroupedByStatus())
+                .extracting(OrderRepository.StatusCount::getStatus, OrderRepository.StatusCount::getCount)
+                .containsExactlyInAnyOrder(tuple(PENDING, 2L), tuple(SHIPPED, 1L));
+    }
+
+    // ── Set-based status transitions ───────────────────────────────────────
+
+    @Test
+    void transitionStatus_returnsMovedRowsWithTheirPreviousStatus() {
+        List<Long> ids = orderRepository.findAll().stream().map(SupplyOrder::getId).toList();
+
+        List<StatusChange> moved = orderRepository.transitionStatus(ids, List.of(PENDING, SHIPPED), CANCELLED);
+
+        assertThat(moved).extracting(c -> c.order().getItemName()).containsExactlyInAnyOrder("Bolt A", "Bolt B", "Nut C");
+        assertThat(moved).extracting(StatusChange::previousStatus)
+                .containsExactlyInAnyOrder(PENDING, PENDING, SHIPPED);
+        assertThat(moved).allSatisfy(c -> {
+            assertThat(c.order().getStatus()).isEqualTo(CANCELLED);
+            assertThat(c.order().getQuantity()).isPositive();
+            assertThat(c.order().getUpdatedAt()).isAfterOrEqualTo(c.order().getCreatedAt());
+        });
+        assertThat(orderRepository.countByStatus(CANCELLED)).isEqualTo(3);
+    }
+
+    @Test
+    void transitionStatus_leavesOrdersInOtherStatusesAlone() {
+        List<Long> ids = orderRepository.findAll().stream().map(SupplyOrder::getId).toList();
+
+        List<StatusChange> moved = orderRepository.transitionStatus(ids, List.of(PENDING), PROCESSING);
+
+        assertThat(moved).hasSize(2);
+        assertThat(orderRepository.countByStatus(PROCESSING)).isEqualTo(2);
+        assertThat(orderRepository.countByStatus(SHIPPED)).isEqualTo(1);
+    }
+
+    @Test
+    void transitionStatus_returnsNothingWhenNoOrderMatches() {
+        assertThat(orderRepository.transitionStatus(List.of(-1L), List.of(PENDING), PROCESSING)).isEmpty();
+        assertThat(orderRepository.transitionStatus(List.of(), List.of(PENDING), PROCESSING)).isEmpty();
+    }
+
+    // ── Item-name search (H2: FUZZY is a substring match) ─────────────────
+
+    @Test
+    void search_prefixMatchIgnoresCase() {
+        assertThat(orderRepository.search(criteria("bOL", MatchMode.PREFIX), Limit.of(10)))
+                .extracting(OrderResponse::getItemName).containsExactly("Bolt A", "Bolt B");
+        assertThat(orderRepository.search(criteria("olt", MatchMode.PREFIX), Limit.of(10))).isEmpty();
+    }
+
+    @Test
+    void search_fuzzyMatchFindsTextInsideTheName() {
+        assertThat(orderRepository.search(criteria("OLT", MatchMode.FUZZY), Limit.of(10)))
+                .extracting(OrderResponse::getItemName).containsExactly("Bolt A", "Bolt B");
+    }
+
+    @Test
+    void search_treatsLikeWildcardsAsLiterals() {
+        orderRepository.save(order("50% Washer", 1, PENDING));
+
+        assertThat(orderRepository.search(criteria("50%", MatchMode.PREFIX), Limit.of(10)))
+                .extracting(OrderResponse::getItemName).containsExactly("50% Washer");
+        assertThat(orderRepository.search(criteria("b_lt", MatchMode.PREFIX), Limit.of(10))).isEmpty();
+        assertThat(orderRepository.search(criteria("%", MatchMode.FUZZY), Limit.of(10)))
+                .extracting(OrderResponse::getItemName).containsExactly("50% Washer");
+    }
+
+    @Test
+    void search_appliesStatusAndCreatedAtFilters() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(orderRepository.search(new SearchCriteria("nut", MatchMode.PREFIX, SHIPPED, null, null, null),
+                Limit.of(10))).extracting(OrderResponse::getItemName).containsExactly("Nut C");
+        assertThat(orderRepository.search(new SearchCriteria("nut", MatchMode.PREFIX, PENDING, null, null, null),
+                Limit.of(10))).isEmpty();
+        assertThat(orderRepository.search(new SearchCriteria("bolt", MatchMode.FUZZY, null,
+                now.minusDays(1), now.plusDays(1), null), Limit.of(10))).hasSize(2);
+        assertThat(orderRepository.search(new SearchCriteria("bolt", MatchMode.FUZZY, null,
+                now.plusDays(1), null, null), Limit.of(10))).isEmpty();
+    }
+
+    @Test
+    void search_prefixOrdersByItemNameThenStatus() {
+        orderRepository.save(order("bolt 0", 1, SHIPPED));
+        orderRepository.save(order("Bolt A", 1, SHIPPED));
+
+        assertThat(orderRepository.search(criteria("bolt", MatchMode.PREFIX), Limit.of(10)))
+                .extracting(OrderResponse::getItemName, OrderResponse::getStatus)
+                .containsExactly(tuple("bolt 0", "SHIPPED"), tuple("Bolt A", "PENDING"),
+                        tuple("Bolt A", "SHIPPED"), tuple("Bolt B", "PENDING"));
+    }
+
+    @Test
+    void search_prefixPagesPastTheCursor() {
+        orderRepository.save(order("Bolt A", 1, SHIPPED));
+        List<OrderResponse> first = orderRepository.search(criteria("bolt", MatchMode.PREFIX), Limit.of(2));
+        assertThat(first).extracting(OrderResponse::getStatus).containsExactly("PENDING", "SHIPPED");
+
+        OrderResponse last = first.get(1);
+        List<OrderResponse> second = orderRepository.search(new SearchCriteria("bolt", MatchMode.PREFIX, null,
+                null, null, new OrderCursor(last.getCreatedAt(), last.getId(), last.getItemName(), SHIPPED)),
+                Limit.of(5));
+        assertThat(second).extracting(OrderResponse::getItemName).containsExactly("Bolt B");
+        assertThat(second.get(0).getStatus()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void search_fuzzyPagesPastTheCursor() {
+        List<OrderResponse> first = orderRepository.search(criteria("olt", MatchMode.FUZZY), Limit.of(1));
+        assertThat(first).extracting(OrderResponse::getItemName).containsExactly("Bolt A");
+
+        OrderResponse last = first.get(0);
+        List<OrderResponse> second = orderRepository.search(new SearchCriteria("olt", MatchMode.FUZZY, null,
+                null, null, new OrderCursor(last.getCreatedAt(), last.getId())), Limit.of(5));
+        assertThat(second).extracting(OrderResponse::getItemName).containsExactly("Bolt B");
+    }
+
+    private static SearchCriteria criteria(String text, MatchMode mode) {
+        return new SearchCriteria(text, mode, null, null, null, null);
+    }
+
+    private SupplyOrder order(String item, int qty, OrderStatus status) {
         SupplyOrder o = new SupplyOrder();
         o.setItemName(item);
         o.setQuantity(qty);
@@ -0,0 +1,182 @@
+package com.sysco.supplyservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL, seeds a skewed dataset and
+ * checks with EXPLAIN that the repository's query shapes are served by the indexes.
+ * The SQL mirrors what Hibernate generates for the OrderRepository methods.
+ *
+ * The data is seeded before V3, while status is still a varchar, so the status
+ * conversion runs over existing rows and the table and index sizes can be compared
+ * before and after it. Migrates up to V4: the partitioned table from V5 is covered
+ * by OrderPartitionMigrationTest.
+ *
+ * Needs Docker; skipped (not failed) when it is unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationPlanTest {
+
+    private static final int ROWS = 200_000;
+
+    private static final String STATUS_INDEX = "idx_supply_orders_status_created_at_id";
+
+    private static long tableSizeBefore;
+    private static long statusIndexSizeBefore;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        migrate("2");
+
+        try (Connection conn = connect(); Statement st = conn.createStatement()) {
+            // ~1% PENDING, ~1% PROCESSING, the rest SHIPPED; created_at ascending with id.
+            // Item names vary in length so row sizes are not all on one alignment boundary.
+            st.execute("INSERT INTO supply_orders (id, item_name, quantity, status, created_at, updated_at) "
+                    + "SELECT g, 'Item ' || g || repeat('x', g % 8), 1 + g % 50, "
+                    + "CASE WHEN g % 100 = 0 THEN 'PENDING' WHEN g % 100 = 1 THEN 'PROCESSING' ELSE 'SHIPPED' END, "
+                    + "TIMESTAMP '2025-01-01' + g * INTERVAL '1 minute', "
+                    + "TIMESTAMP '2025-01-01' + g * INTERVAL '1 minute' "
+                    + "FROM generate_series(1, " + ROWS + ") g");
+            // Indexes built in one pass, as the V3 rewrite builds them, so sizes compare like for like
+            st.execute("REINDEX TABLE supply_orders");
+            st.execute("VACUUM ANALYZE supply_orders");
+        }
+        tableSizeBefore = relationSize("supply_orders");
+        statusIndexSizeBefore = relationSize(STATUS_INDEX);
+
+        migrate("4");
+        try (Connection conn = connect(); Statement st = conn.createStatement()) {
+            st.execute("VACUUM ANALYZE supply_orders");
+        }
+    }
+
+    // ── Status encoding (V3) ──────────────────────────────────────────────
+    @Test
+    void statusMigration_convertsExistingRowsToCodes() throws SQLException {
+        assertThat(countWhere("status = 0")).isEqualTo(ROWS / 100);        // PENDING
+        assertThat(countWhere("status = 1")).isEqualTo(ROWS / 100);        // PROCESSING
+        assertThat(countWhere("status = 2")).isEqualTo(ROWS - ROWS / 50);  // SHIPPED
+    }
+
+    @Test
+    void statusMigration_shrinksTableAndStatusIndex() throws SQLException {
+        long tableSizeAfter = relationSize("supply_orders");
+        long statusIndexSizeAfter = relationSize(STATUS_INDEX);
+
+        assertThat(tableSizeAfter).as("supply_orders bytes").isLessThan(tableSizeBefore);
+        assertThat(statusIndexSizeAfter).as("%s bytes", STATUS_INDEX).isLessThanOrEqualTo(statusIndexSizeBefore);
+    }
+
+    // ── Planner ───────────────────────────────────────────────────────────
+
+    @Test
+    void findByStatus_usesStatusIndex() throws SQLException {
+        assertThat(plan("SELECT * FROM supply_orders WHERE status = 0"))
+                .contains(STATUS_INDEX)
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void countByStatus_isAnIndexOnlyScan() throws SQLException {
+        assertThat(plan("SELECT count(*) FROM supply_orders WHERE status = 1"))
+                .contains("Index Only Scan")
+                .contains(STATUS_INDEX);
+    }
+
+    @Test
+    void keysetPageByStatus_seeksWithoutSorting() throws SQLException {
+        String plan = plan("SELECT * FROM supply_orders WHERE status = 0 "
+                + "AND (created_at, id) > (TIMESTAMP '2025-03-01', 90000) "
+                + "ORDER BY created_at, id FETCH FIRST 51 ROWS ONLY");
+        assertThat(plan).contains(STATUS_INDEX).doesNotContain("Sort");
+    }
+
+    @Test
+    void keysetPageOverAllOrders_seeksWithoutSorting() throws SQLException {
+        String plan = plan("SELECT * FROM supply_orders "
+                + "WHERE (created_at, id) > (TIMESTAMP '2025-03-01', 90000) "
+                + "ORDER BY created_at, id FETCH FIRST 51 ROWS ONLY");
+        assertThat(plan).contains("idx_supply_orders_created_at_id").doesNotContain("Sort");
+    }
+
+    @Test
+    void timeRangeScan_canUseBrinIndex() throws SQLException {
+        // With the B-tree scans disabled the planner must fall back to the BRIN index,
+        // not a sequential scan; the index itself is a tiny fraction of the B-tree's size.
+        String plan;
+        try (Connection conn = connect(); Statement st = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            st.execute("SET LOCAL enable_indexscan = off");
+            st.execute("SET LOCAL enable_indexonlyscan = off");
+            plan = explain(st, "SELECT count(*) FROM supply_orders "
+                    + "WHERE created_at >= TIMESTAMP '2025-02-01' AND created_at < TIMESTAMP '2025-02-02'");
+            conn.rollback();
+        }
+        assertThat(plan).contains("brin_supply_orders_created_at");
+        assertThat(relationSize("brin_supply_orders_created_at"))
+                .isLessThan(relationSize("idx_supply_orders_created_at_id") / 50);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────
+    private static void migrate(String target) {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private static String plan(String sql) throws SQLException {
+        try (Connection conn = connect(); Statement st = conn.createStatement()) {
+            return explain(st, sql);
+        }
+    }
+
+    private static String explain(Statement st, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rs = st.executeQuery("EXPLAIN " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static long countWhere(String condition) throws SQLException {
+        try (Connection conn = connect(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT count(*) FROM supply_orders WHERE " + condition)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long relationSize(String relation) throws SQLException {
+        try (Connection conn = connect(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT pg_relation_size('" + relation + "')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.sysco.supplyservice.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for token verification and the verified-claims cache — no Spring context.
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "this-is-a-very-long-dev-secret-key-for-hs256-auth-token-signing";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JwtService jwtService = new JwtService(SECRET, 100, Duration.ofMinutes(5), registry);
+
+    @Test
+    void verify_returnsClaimsOfAValidToken() {
+        assertThat(jwtService.verify(token(SECRET, "alice", Instant.now().plusSeconds(60))))
+                .map(Claims::getSubject)
+                .hasValue("alice");
+    }
+
+    @Test
+    void verify_rejectsBadSignatureExpiredAndMalformedTokens() {
+        String otherSecret = "another-very-long-secret-key-used-to-sign-tokens-we-do-not-trust";
+        assertThat(jwtService.verify(token(otherSecret, "mallory", Instant.now().plusSeconds(60)))).isEmpty();
+        assertThat(jwtService.verify(token(SECRET, "alice", Instant.now().minusSeconds(60)))).isEmpty();
+        assertThat(jwtService.verify("not-a-jwt")).isEmpty();
+        assertThat(registry.get("jwt.verification").tag("result", "invalid").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void verify_servesRepeatTokensFromCache() {
+        String jwt = token(SECRET, "alice", Instant.now().plusSeconds(60));
+
+        jwtService.verify(jwt);
+        jwtService.verify(jwt);
+        jwtService.verify(jwt);
+
+        assertThat(registry.get("cache.gets").tag("cache", "jwt").tag("result", "hit").functionCounter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void verify_doesNotServeCachedClaimsPastTokenExpiry() throws InterruptedException {
+        String jwt = token(SECRET, "alice", Instant.now().plusSeconds(1));
+        assertThat(jwtService.verify(jwt)).isPresent();
+
+        Thread.sleep(1100);
+
+        assertThat(jwtService.verify(jwt)).isEmpty();
+    }
+
+    private static String token(String secret, String subject, Instant expiry) {
+        return Jwts.builder()
+                .subject(subject)
+                .issuedAt(Date.from(expiry.minusSeconds(120)))
+                .expiration(Date.from(expiry))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
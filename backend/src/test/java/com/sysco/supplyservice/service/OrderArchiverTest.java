@@ -0,0 +1,134 @@
+package com.sysco.supplyservice.service;
+
+import com.sysco.supplyservice.model.ArchivedOrder;
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.model.SupplyOrder;
+import com.sysco.supplyservice.repository.ArchivedOrderRepository;
+import com.sysco.supplyservice.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.sysco.supplyservice.model.OrderStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * OrderArchiver against the JPA slice (H2). The test's transaction wraps the
+ * archiver's batches; partition upkeep is a no-op on H2.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class OrderArchiverTest {
+
+    private static final LocalDateTime OLD = LocalDateTime.now().minusDays(60);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private OrderStatusCounts statusCounts;
+
+    @BeforeEach
+    void setUp() {
+        statusCounts = new OrderStatusCounts(orderRepository, registry);
+    }
+
+    @Test
+    void archive_movesOnlyTerminalOrdersOlderThanTheCutoff() {
+        SupplyOrder oldShipped = order("Bolt A", SHIPPED, OLD);
+        SupplyOrder oldCancelled = order("Bolt B", CANCELLED, OLD);
+        SupplyOrder oldPending = order("Nut C", PENDING, OLD);
+        SupplyOrder newShipped = order("Nut D", SHIPPED, null);
+
+        int moved = archiver(100).archive(LocalDateTime.now().minusDays(30));
+        entityManager.clear();
+
+        assertThat(moved).isEqualTo(2);
+        assertThat(orderRepository.findAll()).extracting(SupplyOrder::getId)
+                .containsExactlyInAnyOrder(oldPending.getId(), newShipped.getId());
+        assertThat(archivedOrderRepository.findAll())
+                .extracting(ArchivedOrder::getId, ArchivedOrder::getStatus, ArchivedOrder::getItemName)
+                .containsExactlyInAnyOrder(
+                        tuple(oldShipped.getId(), SHIPPED, "Bolt A"),
+                        tuple(oldCancelled.getId(), CANCELLED, "Bolt B"));
+        assertThat(archivedOrderRepository.findAll()).allMatch(a -> a.getArchivedAt() != null);
+        assertThat(registry.get("orders.archived").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void archive_runsBatchesUntilNothingIsLeft() {
+        for (int i = 0; i < 5; i++) {
+            order("Washer " + i, SHIPPED, OLD);
+        }
+
+        int moved = archiver(2).archive(LocalDateTime.now().minusDays(30));
+        entityManager.clear();
+
+        assertThat(moved).isEqualTo(5);
+        assertThat(orderRepository.count()).isZero();
+        assertThat(archivedOrderRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    void archivedOrders_areStillFoundById() {
+        SupplyOrder shipped = order("Bolt A", SHIPPED, OLD);
+
+        archiver(100).archive(LocalDateTime.now().minusDays(30));
+        entityManager.clear();
+
+        assertThat(orderRepository.findResponseById(shipped.getId())).isEmpty();
+        assertThat(archivedOrderRepository.findResponseById(shipped.getId()))
+                .hasValueSatisfying(r -> assertThat(r.getStatus()).isEqualTo("SHIPPED"));
+        assertThat(archivedOrderRepository.findStatusById(shipped.getId())).contains(SHIPPED);
+    }
+
+    @Test
+    void run_skipsPartitionUpkeepOnH2() {
+        order("Bolt A", SHIPPED, OLD);
+
+        archiver(100).run();
+        entityManager.clear();
+
+        assertThat(archivedOrderRepository.count()).isEqualTo(1);
+        assertThat(registry.get("orders.archive.duration").timer().count()).isEqualTo(1);
+    }
+
+    private OrderArchiver archiver(int batchSize) {
+        return new OrderArchiver(orderRepository, archivedOrderRepository, statusCounts,
+                TransactionOperations.withoutTransaction(), Duration.ofDays(30), batchSize, 3, registry);
+    }
+
+    // createdAt is stamped on persist; older orders are backdated afterwards
+    private SupplyOrder order(String item, OrderStatus status, LocalDateTime createdAt) {
+        SupplyOrder order = new SupplyOrder();
+        order.setItemName(item);
+        order.setQuantity(1);
+        order.setStatus(status);
+        SupplyOrder saved = entityManager.persistFlushFind(order);
+        if (createdAt != null) {
+            entityManager.getEntityManager()
+                    .createQuery("UPDATE SupplyOrder o SET o.createdAt = :createdAt WHERE o.id = :id")
+                    .setParameter("createdAt", createdAt)
+                    .setParameter("id", saved.getId())
+                    .executeUpdate();
+        }
+        return saved;
+    }
+}
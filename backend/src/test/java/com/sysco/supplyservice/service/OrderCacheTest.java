@@ -0,0 +1,81 @@
+package com.sysco.supplyservice.service;
+
+import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.exception.OrderNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the single-order cache — no Spring context.
+ */
+class OrderCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderCache cache = new OrderCache(registry, 2, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, OrderResponse> loader = id -> {
+        loads.incrementAndGet();
+        return new OrderResponse(id, "Widget", 1, "PENDING", LocalDateTime.now(), LocalDateTime.now());
+    };
+
+    @Test
+    void get_loadsOnceAndRecordsHitsAndMisses() {
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(registry.get("cache.gets").tag("cache", "orders").tag("result", "hit").functionCounter().count())
+                .isEqualTo(2.0);
+        assertThat(registry.get("cache.gets").tag("cache", "orders").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void get_doesNotCacheMissingOrders() {
+        Function<Long, OrderResponse> missing = id -> {
+            throw new OrderNotFoundException(id);
+        };
+        assertThatThrownBy(() -> cache.get(9L, missing)).isInstanceOf(OrderNotFoundException.class);
+
+        cache.get(9L, loader);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        cache.get(1L, loader);
+
+        cache.invalidate(List.of(1L));
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateAfterCommit_waitsForTheTransactionToCommit() {
+        cache.get(1L, loader);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateAfterCommit(List.of(1L));
+            cache.get(1L, loader);
+            assertThat(loads).hasValue(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cache.get(1L, loader);
+        assertThat(loads).hasValue(2);
+    }
+}
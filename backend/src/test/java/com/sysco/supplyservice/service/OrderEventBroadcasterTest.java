@@ -0,0 +1,183 @@
+package com.sysco.supplyservice.service;
+
+import com.sysco.supplyservice.event.OrderEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for the SSE fan-out — no Spring context; emitters record what they are sent.
+ */
+class OrderEventBroadcasterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final OrderEventBroadcaster broadcaster =
+            new OrderEventBroadcaster(registry, 4, 5, Duration.ofMinutes(1), false) {
+                @Override
+                SseEmitter newEmitter() {
+                    RecordingEmitter emitter = new RecordingEmitter();
+                    emitters.add(emitter);
+                    return emitter;
+                }
+            };
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(e -> e.release.countDown());
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void publish_sendsOnlyMatchingEventsToEachClient() {
+        RecordingEmitter all = (RecordingEmitter) broadcaster.subscribe(null, null, null);
+        RecordingEmitter shipped = (RecordingEmitter) broadcaster.subscribe(List.of("shipped"), null, null);
+        RecordingEmitter order2 = (RecordingEmitter) broadcaster.subscribe(null, List.of(2L), null);
+
+        broadcaster.publish(OrderEvent.placed(1L, "Widget", 3, "PENDING", 0L), 0, 10);
+        broadcaster.publish(OrderEvent.statusUpdate(2L, "SHIPPED", 0L), 1, 20);
+        broadcaster.publish(OrderEvent.statusUpdate(1L, "PROCESSING", 0L), 0, 11);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> all.sent.size() == 3);
+        assertThat(all.sent.get(0)).contains("id:0-10", "event:ORDER_PLACED", "orderId=1");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> shipped.sent.size() == 1 && order2.sent.size() == 1);
+        assertThat(shipped.sent.get(0)).contains("id:0-10,1-20", "status=SHIPPED");
+        assertThat(order2.sent).isEqualTo(shipped.sent);
+        assertThat(registry.get("orders.stream.clients").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void subscribe_rejectsUnknownStatus() {
+        assertThatThrownBy(() -> broadcaster.subscribe(List.of("LOST"), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void subscribe_withLastEventId_replaysEachPartitionPastItsOffset() {
+        // This instance saw partition 0 run ahead; the client's id comes from one that
+        // interleaved them differently and had already sent 1-1
+        broadcaster.publish(OrderEvent.statusUpdate(1L, "PROCESSING", 0L), 0, 1);
+        broadcaster.publish(OrderEvent.statusUpdate(1L, "SHIPPED", 0L), 0, 2);
+        broadcaster.publish(OrderEvent.statusUpdate(3L, "PROCESSING", 0L), 0, 3);
+        broadcaster.publish(OrderEvent.statusUpdate(2L, "PROCESSING", 0L), 1, 1);
+        broadcaster.publish(OrderEvent.statusUpdate(2L, "SHIPPED", 0L), 1, 2);
+
+        RecordingEmitter resumed = (RecordingEmitter) broadcaster.subscribe(null, null, "0-2,1-1");
+        broadcaster.publish(OrderEvent.statusUpdate(4L, "PROCESSING", 0L), 1, 3);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> resumed.sent.size() == 3);
+        assertThat(resumed.sent).extracting(s -> s.lines().findFirst().orElse(""))
+                .containsExactly("id:0-3", "id:0-3,1-2", "id:0-3,1-3");
+    }
+
+    @Test
+    void subscribe_withPositionAheadOfThisInstance_skipsLiveEventsItAlreadyHas() {
+        broadcaster.publish(OrderEvent.statusUpdate(1L, "PROCESSING", 0L), 0, 1);
+
+        RecordingEmitter resumed = (RecordingEmitter) broadcaster.subscribe(null, null, "0-3");
+        broadcaster.publish(OrderEvent.statusUpdate(1L, "SHIPPED", 0L), 0, 2);
+        broadcaster.publish(OrderEvent.statusUpdate(2L, "PROCESSING", 0L), 0, 3);
+        broadcaster.publish(OrderEvent.statusUpdate(2L, "SHIPPED", 0L), 0, 4);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> resumed.sent.size() == 1);
+        assertThat(resumed.sent.get(0)).startsWith("id:0-4");
+    }
+
+    @Test
+    void subscribe_withIdOutsideTheReplayWindow_sendsReset() {
+        for (int i = 0; i < 7; i++) {
+            broadcaster.publish(OrderEvent.statusUpdate(i, "PROCESSING", 0L), 0, i);
+        }
+
+        RecordingEmitter stale = (RecordingEmitter) broadcaster.subscribe(null, null, "0-0");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stale.sent.size() == 1);
+        assertThat(stale.sent.get(0)).contains("id:0-6", "event:reset");
+    }
+
+    @Test
+    void subscribe_withUnknownOrMalformedId_sendsReset() {
+        broadcaster.publish(OrderEvent.statusUpdate(1L, "PROCESSING", 0L), 0, 1);
+
+        RecordingEmitter otherPartition = (RecordingEmitter) broadcaster.subscribe(null, null, "0-1,2-7");
+        RecordingEmitter malformed = (RecordingEmitter) broadcaster.subscribe(null, null, "41");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> otherPartition.sent.size() == 1 && malformed.sent.size() == 1);
+        assertThat(otherPartition.sent.get(0)).contains("id:0-1", "event:reset");
+        assertThat(malformed.sent.get(0)).contains("id:0-1", "event:reset");
+    }
+
+    @Test
+    void publish_dropsAClientWhoseBufferOverflows() {
+        RecordingEmitter slow = (RecordingEmitter) broadcaster.subscribe(null, null, null);
+        slow.release = new CountDownLatch(1);
+        RecordingEmitter fast = (RecordingEmitter) broadcaster.subscribe(null, null, null);
+
+        // One send in flight (blocked) + 4 queued, then the sixth overflows. Each event
+        // reaches the fast client before the next is published, so only the slow one
+        // can fall behind.
+        for (int i = 0; i < 6; i++) {
+            broadcaster.publish(OrderEvent.statusUpdate(i, "PROCESSING", 0L), 0, i);
+            int published = i + 1;
+            await().atMost(5, TimeUnit.SECONDS).until(() -> fast.sent.size() == published);
+            if (i == 0) {
+                await().atMost(5, TimeUnit.SECONDS).until(() -> slow.sending);
+            }
+        }
+
+        assertThat(broadcaster.clientCount()).isEqualTo(1);
+        assertThat(registry.get("orders.stream.clients.dropped").counter().count()).isEqualTo(1.0);
+        slow.release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> slow.completed);
+    }
+
+    @Test
+    void heartbeat_keepsIdleClientsAlive() {
+        RecordingEmitter idle = (RecordingEmitter) broadcaster.subscribe(null, null, null);
+
+        broadcaster.heartbeat();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> idle.sent.size() == 1);
+        assertThat(idle.sent.get(0)).startsWith(":keep-alive");
+    }
+
+    // Records each event as its SSE text (data objects via toString); send can be held
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        volatile CountDownLatch release = new CountDownLatch(0);
+        volatile boolean sending;
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending = true;
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            sent.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
@@ -1,20 +1,48 @@
 package com.sysco.supplyservice.service;
 
+import com.sysco.supplyservice.dto.OrderBatchItemResult;
+import com.sysco.supplyservice.dto.OrderBatchResponse;
+import com.sysco.supplyservice.dto.OrderBulkStatusResponse;
+import com.sysco.supplyservice.dto.OrderCursor;
+import com.sysco.supplyservice.dto.OrderPage;
 import com.sysco.supplyservice.dto.OrderRequest;
 import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.event.OrderEventCodec;
+import com.sysco.supplyservice.event.OrderEventType;
+import com.sysco.supplyservice.exception.InvalidStatusTransitionException;
 import com.sysco.supplyservice.exception.OrderNotFoundException;
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.model.OutboxEvent;
 import com.sysco.supplyservice.model.SupplyOrder;
+import com.sysco.supplyservice.repository.ArchivedOrderRepository;
 import com.sysco.supplyservice.repository.OrderRepository;
+import com.sysco.supplyservice.repository.OrderSearch.MatchMode;
+import com.sysco.supplyservice.repository.OrderSearch.SearchCriteria;
+import com.sysco.supplyservice.repository.OrderStatusTransitions.StatusChange;
+import com.sysco.supplyservice.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -24,8 +52,8 @@ import static org.mockito.Mockito.*;
  * Unit tests for OrderService.
  * All dependencies are mocked — no Spring context, no DB, no Kafka needed.
  *
- * Note: @Retry (Resilience4j) works via AOP proxy, so it is NOT active here.
- * We test the raw business logic: saving, mapping, throwing, fallback behaviour.
+ * Note: @Transactional works via AOP proxy, so it is NOT active here.
+ * We test the raw business logic: saving, mapping, throwing, outbox writes.
  */
 @ExtendWith(MockitoExtension.class)
 class OrderServiceTest {
@@ -34,7 +62,19 @@ class OrderServiceTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private KafkaOperations<String, String> kafkaTemplate;
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private OrderStatusCounts statusCounts;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private OrderCache orderCache = new OrderCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
 
     @InjectMocks
     private OrderService orderService;
@@ -47,7 +87,7 @@ class OrderServiceTest {
         savedOrder.setId(1L);
         savedOrder.setItemName("Widget A");
         savedOrder.setQuantity(10);
-        savedOrder.setStatus("PENDING");
+        savedOrder.setStatus(OrderStatus.PENDING);
     }
 
     // ── placeOrder ─────────────────────────────────────────────────────────
@@ -64,10 +104,11 @@ class OrderServiceTest {
         assertThat(resp.getId()).isEqualTo(1L);
         assertThat(resp.getStatus()).isEqualTo("PENDING");
         verify(orderRepository).save(any(SupplyOrder.class));
+        verify(statusCounts).recordCreated(1);
     }
 
     @Test
-    void placeOrder_publishesKafkaEvent() {
+    void placeOrder_writesOrderPlacedEventToOutbox() {
         OrderRequest req = new OrderRequest();
         req.setItemName("Widget A");
         req.setQuantity(10);
@@ -75,24 +116,97 @@ class OrderServiceTest {
 
         orderService.placeOrder(req);
 
-        // publishOrderEvent is called directly (no proxy), so Kafka send is invoked
-        verify(kafkaTemplate).send(eq("orders-topic"), anyString());
+        // The event is stored next to the order; OutboxRelay delivers it to Kafka later
+        ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(event.capture());
+        assertThat(event.getValue().getOrderId()).isEqualTo(1L);
+        assertThat(event.getValue().getEventType()).isEqualTo("ORDER_PLACED");
+        OrderEvent payload = OrderEventCodec.decode(event.getValue().getPayload());
+        assertThat(payload.type()).isEqualTo(OrderEventType.ORDER_PLACED);
+        assertThat(payload.itemName()).isEqualTo("Widget A");
+        assertThat(payload.quantity()).isEqualTo(10);
+    }
+
+    // ── placeOrders ───────────────────────────────────────────────────────
+
+    @Test
+    void placeOrders_savesValidEntriesAndRejectsInvalidOnes() {
+        when(orderRepository.saveAll(anyList())).thenAnswer(OrderServiceTest::assignIds);
+
+        OrderBatchResponse resp = orderService.placeOrders(List.of(
+                request("Bolt A", 5),
+                request("", 5),
+                request("Nut C", 2)));
+
+        assertThat(resp.getCreated()).isEqualTo(2);
+        assertThat(resp.getRejected()).isEqualTo(1);
+        assertThat(resp.getResults()).extracting(OrderBatchItemResult::getResult)
+                .containsExactly(OrderBatchItemResult.CREATED, OrderBatchItemResult.REJECTED, OrderBatchItemResult.CREATED);
+        assertThat(resp.getResults().get(1).getError()).contains("itemName");
+        assertThat(resp.getResults().get(2).getOrder().getId()).isEqualTo(11L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void placeOrders_writesAllEventsToOutboxInOneCall() {
+        when(orderRepository.saveAll(anyList())).thenAnswer(OrderServiceTest::assignIds);
+
+        orderService.placeOrders(List.of(request("Bolt A", 5), request("Bolt B", 3)));
+
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(events.capture());
+        assertThat(events.getValue()).extracting(OutboxEvent::getEventType)
+                .containsExactly("ORDER_PLACED", "ORDER_PLACED");
+    }
+
+    @Test
+    void placeOrders_throwsForEmptyOrOversizedBatch() {
+        assertThatThrownBy(() -> orderService.placeOrders(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        List<OrderRequest> tooMany = new ArrayList<>(Collections.nCopies(OrderService.MAX_BATCH_SIZE + 1, request("X", 1)));
+        assertThatThrownBy(() -> orderService.placeOrders(tooMany))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(String.valueOf(OrderService.MAX_BATCH_SIZE));
+        verifyNoInteractions(orderRepository);
     }
 
     // ── getOrderById ──────────────────────────────────────────────────────
 
     @Test
     void getOrderById_returnsResponseWhenFound() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(savedOrder));
+        when(orderRepository.findResponseById(1L)).thenReturn(Optional.of(OrderService.toResponse(savedOrder)));
 
         OrderResponse resp = orderService.getOrderById(1L);
 
         assertThat(resp.getItemName()).isEqualTo("Widget A");
     }
 
+    @Test
+    void getOrderById_servesRepeatReadsFromCache() {
+        when(orderRepository.findResponseById(1L)).thenReturn(Optional.of(OrderService.toResponse(savedOrder)));
+
+        orderService.getOrderById(1L);
+        orderService.getOrderById(1L);
+
+        verify(orderRepository, times(1)).findResponseById(1L);
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void getOrderById_fallsBackToTheArchive() {
+        savedOrder.setStatus(OrderStatus.SHIPPED);
+        when(orderRepository.findResponseById(1L)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findResponseById(1L)).thenReturn(Optional.of(OrderService.toResponse(savedOrder)));
+
+        OrderResponse resp = orderService.getOrderById(1L);
+
+        assertThat(resp.getStatus()).isEqualTo("SHIPPED");
+    }
+
     @Test
     void getOrderById_throwsOrderNotFoundExceptionWhenMissing() {
-        when(orderRepository.findById(99L)).thenReturn(Optional.empty());
+        when(orderRepository.findResponseById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.getOrderById(99L))
                 .isInstanceOf(OrderNotFoundException.class)
@@ -103,30 +217,229 @@ class OrderServiceTest {
 
     @Test
     void getAllOrders_returnsMappedList() {
-        when(orderRepository.findAll()).thenReturn(List.of(savedOrder));
+        when(orderRepository.findFirstPage(Limit.of(OrderService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(OrderService.toResponse(savedOrder)));
+
+        OrderPage result = orderService.getAllOrders(null, null);
+
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getItemName()).isEqualTo("Widget A");
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getAllOrders_returnsCursorOfLastRowWhenMoreRowsExist() {
+        savedOrder.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        OrderResponse extra = new OrderResponse(2L, "Widget B", 1, "PENDING", null, null);
+        when(orderRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(OrderService.toResponse(savedOrder), extra));
+
+        OrderPage result = orderService.getAllOrders(null, 1);
+
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(OrderCursor.decode(result.getNextCursor()))
+                .isEqualTo(new OrderCursor(LocalDateTime.of(2025, 1, 1, 10, 0), 1L));
+    }
+
+    @Test
+    void getAllOrders_seeksPastCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        String cursor = new OrderCursor(createdAt, 1L).encode();
+        when(orderRepository.findPageAfter(createdAt, 1L, Limit.of(11))).thenReturn(List.of());
+
+        OrderPage result = orderService.getAllOrders(cursor, 10);
+
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getAllOrders_capsLimitAtMaxPageSize() {
+        when(orderRepository.findFirstPage(any())).thenReturn(List.of());
+
+        orderService.getAllOrders(null, 100_000);
+
+        verify(orderRepository).findFirstPage(Limit.of(OrderService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getAllOrders_throwsForInvalidCursorOrLimit() {
+        assertThatThrownBy(() -> orderService.getAllOrders("not-a-cursor", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderService.getAllOrders(null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getOrdersByStatus_parsesStatusCaseInsensitively() {
+        when(orderRepository.findFirstPageByStatus(OrderStatus.PENDING, Limit.of(OrderService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(OrderService.toResponse(savedOrder)));
+
+        OrderPage result = orderService.getOrdersByStatus("pending", null, null);
+
+        assertThat(result.getItems()).extracting(OrderResponse::getStatus).containsExactly("PENDING");
+    }
+
+    @Test
+    void getOrdersByStatus_rejectsUnknownStatus() {
+        assertThatThrownBy(() -> orderService.getOrdersByStatus("LOST", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("LOST");
+        verifyNoInteractions(orderRepository);
+    }
+
+    // ── searchOrders ──────────────────────────────────────────────────────
+
+    @Test
+    void searchOrders_defaultsToPrefixAndParsesFilters() {
+        when(orderRepository.search(any(), any())).thenReturn(List.of(OrderService.toResponse(savedOrder)));
+
+        OrderPage result = orderService.searchOrders("  Widget ", null, "shipped", "2025-03-01",
+                "2025-03-02T12:00:00", null, null);
+
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getNextCursor()).isNull();
+        verify(orderRepository).search(new SearchCriteria("Widget", MatchMode.PREFIX, OrderStatus.SHIPPED,
+                LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 3, 2, 12, 0), null),
+                Limit.of(OrderService.DEFAULT_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void searchOrders_fuzzyModeSeeksPastCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        String cursor = new OrderCursor(createdAt, 1L).encode();
+        when(orderRepository.search(any(), any())).thenReturn(List.of());
+
+        orderService.searchOrders("wdget", "FUZZY", null, "2025-01-01", "2025-01-08", cursor, 10);
+
+        verify(orderRepository).search(new SearchCriteria("wdget", MatchMode.FUZZY, null,
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 8, 0, 0),
+                new OrderCursor(createdAt, 1L)), Limit.of(11));
+    }
+
+    @Test
+    void searchOrders_prefixCursorCarriesItemNameAndStatus() {
+        savedOrder.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        OrderResponse row = OrderService.toResponse(savedOrder);
+        when(orderRepository.search(any(), any())).thenReturn(List.of(row, row));
+
+        OrderPage page = orderService.searchOrders("widget", null, null, null, null, null, 1);
+
+        assertThat(OrderCursor.decode(page.getNextCursor())).isEqualTo(
+                new OrderCursor(row.getCreatedAt(), 1L, "Widget A", OrderStatus.PENDING));
+    }
+
+    @Test
+    void searchOrders_rejectsListingCursorForPrefixSearch() {
+        String cursor = new OrderCursor(LocalDateTime.of(2025, 1, 1, 10, 0), 1L).encode();
 
-        List<OrderResponse> result = orderService.getAllOrders();
+        assertThatThrownBy(() -> orderService.searchOrders("widget", "prefix", null, null, null, cursor, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("prefix");
+        verifyNoInteractions(orderRepository);
+    }
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getItemName()).isEqualTo("Widget A");
+    @Test
+    void searchOrders_rejectsInvalidInput() {
+        assertThatThrownBy(() -> orderService.searchOrders(null, null, null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderService.searchOrders(" ab ", null, null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderService.searchOrders("x".repeat(256), null, null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderService.searchOrders("bolt", "regex", null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("regex");
+        assertThatThrownBy(() -> orderService.searchOrders("bolt", null, null, "March", null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("March");
+        assertThatThrownBy(() -> orderService.searchOrders("bolt", null, null, "2025-03-02", "2025-03-01", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Fuzzy search needs a createdAt range of at most MAX_FUZZY_SEARCH_RANGE
+        assertThatThrownBy(() -> orderService.searchOrders("bolt", "fuzzy", null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Fuzzy");
+        assertThatThrownBy(() -> orderService.searchOrders("bolt", "fuzzy", null, "2025-03-01", null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderService.searchOrders("bolt", "fuzzy", null, "2025-03-01", "2025-03-08T00:00:01",
+                null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(orderRepository);
     }
 
     // ── updateOrderStatus ─────────────────────────────────────────────────
 
     @Test
-    void updateOrderStatus_updatesStatusSuccessfully() {
+    void updateOrderStatus_appliesTransitionWithOneConditionalUpdate() {
         SupplyOrder updated = new SupplyOrder();
         updated.setId(1L);
         updated.setItemName("Widget A");
         updated.setQuantity(10);
-        updated.setStatus("SHIPPED");
+        updated.setStatus(OrderStatus.SHIPPED);
+        when(orderRepository.transitionStatus(List.of(1L), Set.of(OrderStatus.PROCESSING), OrderStatus.SHIPPED))
+                .thenReturn(List.of(new StatusChange(updated, OrderStatus.PROCESSING)));
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(savedOrder));
-        when(orderRepository.save(any())).thenReturn(updated);
-
-        OrderResponse resp = orderService.updateOrderStatus(1L, "SHIPPED");
+        OrderResponse resp = orderService.updateOrderStatus(1L, "shipped");
 
         assertThat(resp.getStatus()).isEqualTo("SHIPPED");
+        verify(statusCounts).recordTransitions(List.of(OrderStatus.PROCESSING), OrderStatus.SHIPPED);
+        verify(orderCache).invalidateAfterCommit(List.of(1L));
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any());
+        ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(event.capture());
+        OrderEvent payload = OrderEventCodec.decode(event.getValue().getPayload());
+        assertThat(payload.type()).isEqualTo(OrderEventType.ORDER_STATUS_UPDATE);
+        assertThat(payload.orderId()).isEqualTo(1L);
+        assertThat(payload.status()).isEqualTo("SHIPPED");
+    }
+
+    @Test
+    void updateOrderStatus_cancelIsAllowedFromPendingOrProcessing() {
+        SupplyOrder cancelled = new SupplyOrder();
+        cancelled.setId(1L);
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        when(orderRepository.transitionStatus(eq(List.of(1L)), anyCollection(), eq(OrderStatus.CANCELLED)))
+                .thenReturn(List.of(new StatusChange(cancelled, OrderStatus.PROCESSING)));
+
+        orderService.updateOrderStatus(1L, "CANCELLED");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<OrderStatus>> from = ArgumentCaptor.forClass(Collection.class);
+        verify(orderRepository).transitionStatus(eq(List.of(1L)), from.capture(), eq(OrderStatus.CANCELLED));
+        assertThat(from.getValue()).containsExactlyInAnyOrder(OrderStatus.PENDING, OrderStatus.PROCESSING);
+    }
+
+    @Test
+    void updateOrderStatus_throwsConflictWhenOrderIsNotInAllowedStatus() {
+        when(orderRepository.transitionStatus(List.of(1L), Set.of(OrderStatus.PENDING), OrderStatus.PROCESSING)).thenReturn(List.of());
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.SHIPPED));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, "PROCESSING"))
+                .isInstanceOf(InvalidStatusTransitionException.class)
+                .hasMessageContaining("SHIPPED")
+                .hasMessageContaining("PROCESSING");
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void updateOrderStatus_throwsConflictForAnArchivedOrder() {
+        when(orderRepository.transitionStatus(List.of(1L), Set.of(OrderStatus.PENDING, OrderStatus.PROCESSING),
+                OrderStatus.CANCELLED)).thenReturn(List.of());
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.SHIPPED));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, "CANCELLED"))
+                .isInstanceOf(InvalidStatusTransitionException.class)
+                .hasMessageContaining("SHIPPED");
+    }
+
+    @Test
+    void updateOrderStatus_neverMovesBackToPending() {
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PROCESSING));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, "PENDING"))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+        verify(orderRepository, never()).transitionStatus(anyCollection(), anyCollection(), any(OrderStatus.class));
     }
 
     @Test
@@ -134,22 +447,123 @@ class OrderServiceTest {
         assertThatThrownBy(() -> orderService.updateOrderStatus(1L, "FLYING"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("FLYING");
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
     void updateOrderStatus_throwsWhenOrderNotFound() {
-        when(orderRepository.findById(99L)).thenReturn(Optional.empty());
+        when(orderRepository.transitionStatus(List.of(99L), Set.of(OrderStatus.PROCESSING), OrderStatus.SHIPPED)).thenReturn(List.of());
+        when(orderRepository.findStatusById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.updateOrderStatus(99L, "SHIPPED"))
                 .isInstanceOf(OrderNotFoundException.class);
     }
 
-    // ── publishFallback ───────────────────────────────────────────────────
+    // ── updateOrderStatuses ───────────────────────────────────────────────
+
+    @Test
+    void updateOrderStatuses_reportsMovedAndRejectedInInputOrder() {
+        when(orderRepository.transitionStatus(List.of(3L, 1L, 2L), Set.of(OrderStatus.PROCESSING), OrderStatus.SHIPPED))
+                .thenReturn(List.of(shipped(1L), shipped(3L)));
+
+        OrderBulkStatusResponse resp = orderService.updateOrderStatuses(List.of(3L, 1L, 2L, 1L), "shipped");
+
+        assertThat(resp.getStatus()).isEqualTo("SHIPPED");
+        assertThat(resp.getMoved()).containsExactly(3L, 1L);
+        assertThat(resp.getRejected()).containsExactly(2L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(events.capture());
+        assertThat(events.getValue()).extracting(OutboxEvent::getOrderId).containsExactlyInAnyOrder(1L, 3L);
+        verify(statusCounts).recordTransitions(List.of(OrderStatus.PROCESSING, OrderStatus.PROCESSING), OrderStatus.SHIPPED);
+    }
+
+    @Test
+    void updateOrderStatuses_splitsLargeInputsIntoChunkedUpdates() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 2 * OrderService.STATUS_UPDATE_CHUNK_SIZE + 1; id++) {
+            ids.add(id);
+        }
+        when(orderRepository.transitionStatus(anyCollection(), anyCollection(), eq(OrderStatus.SHIPPED))).thenReturn(List.of());
+
+        OrderBulkStatusResponse resp = orderService.updateOrderStatuses(ids, "SHIPPED");
+
+        verify(orderRepository, times(3)).transitionStatus(anyCollection(), anyCollection(), eq(OrderStatus.SHIPPED));
+        assertThat(resp.getRejected()).hasSize(ids.size());
+        verifyNoInteractions(outboxRepository, statusCounts);
+    }
+
+    @Test
+    void updateOrderStatuses_throwsForEmptyOrOversizedInput() {
+        assertThatThrownBy(() -> orderService.updateOrderStatuses(List.of(), "SHIPPED"))
+                .isInstanceOf(IllegalArgumentException.class);
+        List<Long> tooMany = Collections.nCopies(OrderService.MAX_BULK_STATUS_SIZE + 1, 1L);
+        assertThatThrownBy(() -> orderService.updateOrderStatuses(tooMany, "SHIPPED"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds");
+    }
+
+    // ── transitionOrders ──────────────────────────────────────────────────
+
+    @Test
+    void transitionOrders_returnsMovedIdsAndQueuesOneEventEach() {
+        SupplyOrder moved = new SupplyOrder();
+        moved.setId(2L);
+        moved.setStatus(OrderStatus.PROCESSING);
+        when(orderRepository.transitionStatus(List.of(1L, 2L), List.of(OrderStatus.PENDING), OrderStatus.PROCESSING))
+                .thenReturn(List.of(new StatusChange(moved, OrderStatus.PENDING)));
+
+        List<Long> result = orderService.transitionOrders(List.of(1L, 2L), OrderStatus.PENDING, OrderStatus.PROCESSING);
+
+        assertThat(result).containsExactly(2L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(events.capture());
+        assertThat(events.getValue()).singleElement().satisfies(e -> {
+            OrderEvent payload = OrderEventCodec.decode(e.getPayload());
+            assertThat(payload.type()).isEqualTo(OrderEventType.ORDER_STATUS_UPDATE);
+            assertThat(payload.orderId()).isEqualTo(2L);
+            assertThat(payload.status()).isEqualTo("PROCESSING");
+        });
+    }
+
+    @Test
+    void transitionOrders_writesNoEventsWhenNothingMoved() {
+        when(orderRepository.transitionStatus(anyCollection(), anyCollection(), any(OrderStatus.class))).thenReturn(List.of());
+
+        assertThat(orderService.transitionOrders(List.of(1L), OrderStatus.PENDING, OrderStatus.PROCESSING)).isEmpty();
+        verifyNoInteractions(outboxRepository);
+    }
 
     @Test
-    void publishFallback_doesNotThrow() {
-        // Verifies graceful degradation when all Kafka retries are exhausted
-        assertThatCode(() -> orderService.publishFallback(savedOrder, new RuntimeException("Kafka down")))
-                .doesNotThrowAnyException();
+    void transitionOrders_rejectsTransitionsOutsideTheTable() {
+        assertThatThrownBy(() -> orderService.transitionOrders(List.of(1L), OrderStatus.SHIPPED, OrderStatus.PENDING))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static StatusChange shipped(Long id) {
+        SupplyOrder order = new SupplyOrder();
+        order.setId(id);
+        order.setStatus(OrderStatus.SHIPPED);
+        return new StatusChange(order, OrderStatus.PROCESSING);
+    }
+
+    // Mimics the sequence: ids 10, 11, ... in input order
+    private static List<SupplyOrder> assignIds(InvocationOnMock inv) {
+        List<SupplyOrder> orders = inv.getArgument(0);
+        long id = 10;
+        for (SupplyOrder o : orders) {
+            o.setId(id++);
+        }
+        return orders;
+    }
+
+    private OrderRequest request(String item, int qty) {
+        OrderRequest req = new OrderRequest();
+        req.setItemName(item);
+        req.setQuantity(qty);
+        return req;
     }
 }
@@ -0,0 +1,110 @@
+package com.sysco.supplyservice.service;
+
+import com.sysco.supplyservice.dto.OrderStatusSummary;
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory status counts — repository mocked, no Spring context.
+ */
+class OrderStatusCountsTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderStatusCounts counts = new OrderStatusCounts(orderRepository, registry);
+
+    @Test
+    void recordCreatedAndTransitions_adjustCountsAndGauges() {
+        counts.recordCreated(3);
+        counts.recordTransitions(List.of(OrderStatus.PENDING, OrderStatus.PENDING), OrderStatus.PROCESSING);
+        counts.recordTransitions(List.of(OrderStatus.PENDING, OrderStatus.PROCESSING), OrderStatus.CANCELLED);
+
+        OrderStatusSummary summary = counts.summary();
+        assertThat(summary.getCounts()).containsEntry("PENDING", 0L)
+                .containsEntry("PROCESSING", 1L)
+                .containsEntry("CANCELLED", 2L)
+                .containsEntry("SHIPPED", 0L);
+        assertThat(summary.getTotal()).isEqualTo(3);
+        assertThat(registry.get("orders.status.count").tag("status", "CANCELLED").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void reconcile_replacesCountsWithDatabaseTotals() {
+        counts.recordCreated(5);
+        when(orderRepository.countGroupedByStatus()).thenReturn(List.of(
+                statusCount(OrderStatus.PENDING, 2), statusCount(OrderStatus.SHIPPED, 7)));
+
+        counts.reconcile();
+
+        OrderStatusSummary summary = counts.summary();
+        assertThat(summary.getCounts()).containsEntry("PENDING", 2L).containsEntry("SHIPPED", 7L);
+        assertThat(summary.getTotal()).isEqualTo(9);
+        assertThat(summary.getReconciledAt()).isNotNull();
+    }
+
+    @Test
+    void reconcile_replaysChangesCommittedWhileTheQueryRuns() {
+        when(orderRepository.countGroupedByStatus()).thenAnswer(inv -> {
+            counts.recordCreated(1); // lands after the snapshot was taken
+            counts.recordTransitions(List.of(OrderStatus.PENDING), OrderStatus.SHIPPED);
+            return List.of(statusCount(OrderStatus.PENDING, 10));
+        });
+
+        counts.reconcile();
+
+        assertThat(counts.summary().getCounts()).containsEntry("PENDING", 10L).containsEntry("SHIPPED", 1L);
+    }
+
+    @Test
+    void reconcile_keepsIncrementalCountsWhenTheQueryFails() {
+        counts.recordCreated(4);
+        when(orderRepository.countGroupedByStatus()).thenThrow(new IllegalStateException("db down"));
+
+        counts.reconcile();
+
+        assertThat(counts.summary().getCounts()).containsEntry("PENDING", 4L);
+        assertThat(counts.summary().getReconciledAt()).isNull();
+
+        counts.recordCreated(1); // no journal left open by the failed run
+        doReturn(List.of(statusCount(OrderStatus.PENDING, 3))).when(orderRepository).countGroupedByStatus();
+        counts.reconcile();
+        assertThat(counts.summary().getCounts()).containsEntry("PENDING", 3L);
+    }
+
+    @Test
+    void changesInsideATransaction_applyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counts.recordCreated(2);
+            assertThat(counts.summary().getTotal()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(counts.summary().getTotal()).isEqualTo(2);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static OrderRepository.StatusCount statusCount(OrderStatus status, long count) {
+        return new OrderRepository.StatusCount() {
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+# Builds both services and the benchmark jar, runs JMH and writes the results as JSON
+# to results/<git describe>.json (diff two of them to compare releases).
+#
+#   ./run.sh                         all benchmarks
+#   ./run.sh OrderJsonBenchmark      one class (any JMH arguments are passed through)
+set -euo pipefail
+cd "$(dirname "$0")"
+
+(cd ../backend && mvn -q -B -DskipTests install)
+(cd ../auth-service && mvn -q -B -DskipTests install)
+mvn -q -B package
+
+mkdir -p results
+out="results/$(git describe --tags --always --dirty 2>/dev/null || date +%Y%m%d-%H%M%S).json"
+java -jar target/benchmarks.jar -rf json -rff "$out" "$@"
+echo "JMH results written to benchmarks/$out"
@@ -0,0 +1,156 @@
+package com.sysco.benchmarks;
+
+import com.sysco.supplyservice.security.JwtAuthenticationFilter;
+import com.sysco.supplyservice.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter end to end: header check, token verification and setting
+ * the security context, with a no-op chain behind it.
+ *
+ *  - repeatToken:  a caller polling with the same token (verified-claims cache hit)
+ *  - legacyToken:  the same request through the filter as it was before the cache
+ *                  (isTokenValid + extractUsername, a parser built and the token
+ *                  verified for each), kept here as the baseline
+ *  - invalidToken: a token signed with another key (full verification every time)
+ *  - noToken:      no Authorization header (the filter's floor)
+ *
+ *   java -jar target/benchmarks.jar JwtAuthenticationFilterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> { };
+    private static final String FOREIGN_SECRET = "another-very-long-secret-key-used-to-sign-tokens-we-do-not-trust";
+
+    private JwtAuthenticationFilter filter;
+    private LegacyJwtAuthenticationFilter legacyFilter;
+    private String validHeader;
+    private String invalidHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtService jwtService = new JwtService(JwtBenchmark.SECRET, 10_000, Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(jwtService);
+        legacyFilter = new LegacyJwtAuthenticationFilter(JwtBenchmark.SECRET);
+        validHeader = "Bearer " + new com.sysco.authservice.security.JwtService(JwtBenchmark.SECRET, 3600)
+                .generateToken("warehouse-operator");
+        invalidHeader = "Bearer " + new com.sysco.authservice.security.JwtService(FOREIGN_SECRET, 3600)
+                .generateToken("warehouse-operator");
+    }
+
+    @Benchmark
+    public Authentication repeatToken() throws Exception {
+        return run(validHeader);
+    }
+
+    @Benchmark
+    public Authentication legacyToken() throws Exception {
+        return run(legacyFilter, validHeader);
+    }
+
+    @Benchmark
+    public Authentication invalidToken() throws Exception {
+        return run(invalidHeader);
+    }
+
+    @Benchmark
+    public Authentication noToken() throws Exception {
+        return run(null);
+    }
+
+    private Authentication run(String authorization) throws Exception {
+        return run(filter, authorization);
+    }
+
+    // A fresh request per call: OncePerRequestFilter marks the ones it has seen
+    private static Authentication run(OncePerRequestFilter filter, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/1");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // The order-service filter and JwtService before the verified-claims cache
+    private static final class LegacyJwtAuthenticationFilter extends OncePerRequestFilter {
+
+        private final SecretKey secretKey;
+
+        LegacyJwtAuthenticationFilter(String secret) {
+            this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            String authHeader = request.getHeader("Authorization");
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            String jwt = authHeader.substring(7);
+            if (!isTokenValid(jwt) || SecurityContextHolder.getContext().getAuthentication() != null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            String username = extractAllClaims(jwt).getSubject();
+            if (username == null || username.isBlank()) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                    username, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            filterChain.doFilter(request, response);
+        }
+
+        private boolean isTokenValid(String token) {
+            try {
+                extractAllClaims(token);
+                return true;
+            } catch (Exception ex) {
+                return false;
+            }
+        }
+
+        private Claims extractAllClaims(String token) {
+            return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+        }
+    }
+}
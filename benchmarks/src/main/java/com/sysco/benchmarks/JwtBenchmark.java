@@ -0,0 +1,72 @@
+package com.sysco.benchmarks;
+
+import com.sysco.supplyservice.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token cost on both sides: signing in auth-service, verification in the order service.
+ *
+ *  - sign:        auth-service JwtService.generateToken
+ *  - legacy:      isTokenValid + extractUsername, each building a parser and
+ *                 verifying the token (what the order service filter used to do)
+ *  - singleParse: one verification with a parser built once (a JwtService cache miss)
+ *  - cached:      JwtService.verify on a token seen before (a cache hit)
+ *
+ *   java -jar target/benchmarks.jar JwtBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    static final String SECRET = "this-is-a-very-long-dev-secret-key-for-hs256-auth-token-signing";
+
+    private com.sysco.authservice.security.JwtService issuer;
+    private SecretKey key;
+    private JwtParser parser;
+    private JwtService jwtService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        issuer = new com.sysco.authservice.security.JwtService(SECRET, 3600);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+        jwtService = new JwtService(SECRET, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        token = issuer.generateToken("warehouse-operator");
+    }
+
+    @Benchmark
+    public String sign() {
+        return issuer.generateToken("warehouse-operator");
+    }
+
+    @Benchmark
+    public String legacy() {
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return parser.parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String cached() {
+        return jwtService.verify(token).map(Claims::getSubject).orElseThrow();
+    }
+}
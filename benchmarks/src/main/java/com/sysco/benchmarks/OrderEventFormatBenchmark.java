@@ -0,0 +1,74 @@
+package com.sysco.benchmarks;
+
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.event.OrderEventCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Legacy text events ("ORDER_PLACED id=%d item='%s' qty=%d") versus the binary
+ * OrderEventCodec format: encode and decode cost per event.
+ * Encoded sizes are printed once per trial.
+ *
+ *   java -jar target/benchmarks.jar OrderEventFormatBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderEventFormatBenchmark {
+
+    // What a consumer of the old format has to do to get the fields back
+    private static final Pattern LEGACY_PLACED =
+            Pattern.compile("ORDER_PLACED id=(\\d+) item='(.*)' qty=(\\d+)");
+
+    private final long orderId = 1_234_567L;
+    private final String itemName = "Hex Bolt M8x40 Zinc";
+    private final int quantity = 250;
+
+    private OrderEvent event;
+    private byte[] textBytes;
+    private byte[] binaryBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        event = OrderEvent.placed(orderId, itemName, quantity, "PENDING", 1_735_725_600_000L);
+        textBytes = legacyText().getBytes(StandardCharsets.UTF_8);
+        binaryBytes = OrderEventCodec.encode(event);
+        System.out.printf("%nEncoded size: text=%d bytes, binary=%d bytes%n", textBytes.length, binaryBytes.length);
+    }
+
+    @Benchmark
+    public byte[] textEncode() {
+        return legacyText().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public OrderEvent textDecode() {
+        Matcher m = LEGACY_PLACED.matcher(new String(textBytes, StandardCharsets.UTF_8));
+        if (!m.matches()) {
+            throw new IllegalStateException("Unparseable legacy event");
+        }
+        return OrderEvent.placed(Long.parseLong(m.group(1)), m.group(2), Integer.parseInt(m.group(3)), null, 0L);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return OrderEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public OrderEvent binaryDecode() {
+        return OrderEventCodec.decode(binaryBytes);
+    }
+
+    private String legacyText() {
+        return String.format("ORDER_PLACED id=%d item='%s' qty=%d", orderId, itemName, quantity);
+    }
+}
@@ -0,0 +1,53 @@
+package com.sysco.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sysco.supplyservice.dto.OrderResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of an order listing page (List<OrderResponse>), as written by
+ * GET /api/orders, at several page sizes. The mapper is built the way Spring Boot
+ * builds its own (Java time module, dates as ISO strings).
+ *
+ *   java -jar target/benchmarks.jar OrderJsonBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderJsonBenchmark {
+
+    // 50 is the default page size, 500 the maximum (OrderService)
+    @Param({"1", "50", "500"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<OrderResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writerFor(new TypeReference<List<OrderResponse>>() { });
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 9, 30);
+        page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            page.add(new OrderResponse(1_000_000L + i, "Hex Bolt M8x40 Zinc #" + i, 1 + i % 250, "PENDING",
+                    created.plusSeconds(i), created.plusSeconds(i)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,52 @@
+package com.sysco.supplyservice.service;
+
+import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.event.OrderEvent;
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.model.OutboxEvent;
+import com.sysco.supplyservice.model.SupplyOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-order work in OrderService outside the database: entity → response mapping and
+ * building the outbox row that publishOrderEvent stores (event + binary encoding).
+ *
+ * In the service package because OrderService.toResponse is package-private.
+ *
+ *   java -jar target/benchmarks.jar OrderMappingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMappingBenchmark {
+
+    private SupplyOrder order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        order = new SupplyOrder();
+        order.setId(1_234_567L);
+        order.setItemName("Hex Bolt M8x40 Zinc");
+        order.setQuantity(250);
+        order.setStatus(OrderStatus.PENDING);
+        order.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 30));
+        order.setUpdatedAt(order.getCreatedAt());
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return OrderService.toResponse(order);
+    }
+
+    @Benchmark
+    public OutboxEvent placedOutboxEvent() {
+        return OutboxEvent.of(OrderEvent.placed(order.getId(), order.getItemName(), order.getQuantity(),
+                order.getStatus().name(), System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,162 @@
+package com.sysco.supplyservice.service;
+
+import com.sysco.supplyservice.dto.OrderResponse;
+import com.sysco.supplyservice.model.OrderStatus;
+import com.sysco.supplyservice.model.SupplyOrder;
+import com.sysco.supplyservice.repository.OrderRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService read paths against an in-memory H2 database (PostgreSQL mode):
+ * loading managed SupplyOrder entities and mapping them with toResponse, as before,
+ * versus OrderRepository's constructor-expression queries into OrderResponse.
+ *
+ *  - entityPage / projectionPage:  one keyset page (GET /api/orders)
+ *  - entityById / projectionById:  a cache miss on GET /api/orders/{id}
+ *
+ * The entity variants run the queries the repository used to, the same way: pages
+ * outside a transaction, by id through OrderRepository.findById. Both variants pay
+ * the same JDBC and H2 cost, so the difference is hydration, persistence-context
+ * bookkeeping and the extra mapping. Run with the GC profiler to see allocation
+ * per call (gc.alloc.rate.norm, bytes/op):
+ *
+ *   java -jar target/benchmarks.jar OrderReadPathBenchmark -prof gc
+ *
+ * In the service package because OrderService.toResponse is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderReadPathBenchmark {
+
+    private static final int ORDERS = 5_000;
+
+    // The queries OrderRepository ran before it projected into OrderResponse
+    private static final String ENTITY_FIRST_PAGE = "SELECT o FROM SupplyOrder o ORDER BY o.createdAt, o.id";
+
+    @Param({"50", "500"})
+    public int pageSize;
+
+    private AnnotationConfigApplicationContext context;
+    private OrderRepository orderRepository;
+    private EntityManager entityManager;
+    private long[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+
+        OrderStatus[] statuses = OrderStatus.values();
+        List<SupplyOrder> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            SupplyOrder order = new SupplyOrder();
+            order.setItemName("Hex Bolt M8x40 Zinc #" + i);
+            order.setQuantity(1 + i % 500);
+            order.setStatus(statuses[i % statuses.length]);
+            orders.add(order);
+        }
+        ids = orderRepository.saveAll(orders).stream().mapToLong(SupplyOrder::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // ── GET /api/orders ───────────────────────────────────────────────────
+
+    @Benchmark
+    public List<OrderResponse> entityPage() {
+        return entityManager.createQuery(ENTITY_FIRST_PAGE, SupplyOrder.class)
+                .setMaxResults(pageSize + 1)
+                .getResultList()
+                .stream()
+                .map(OrderService::toResponse)
+                .toList();
+    }
+
+    @Benchmark
+    public List<OrderResponse> projectionPage() {
+        return orderRepository.findFirstPage(Limit.of(pageSize + 1));
+    }
+
+    // ── GET /api/orders/{id} (cache miss) ─────────────────────────────────
+
+    @Benchmark
+    public OrderResponse entityById() {
+        long id = nextId();
+        return orderRepository.findById(id).map(OrderService::toResponse).orElseThrow();
+    }
+
+    @Benchmark
+    public OrderResponse projectionById() {
+        return orderRepository.findResponseById(nextId()).orElseThrow();
+    }
+
+    private long nextId() {
+        next = (next + 1) % ids.length;
+        return ids[next];
+    }
+
+    // Just the JPA layer: H2, Hibernate, OrderRepository (no web, Kafka or security)
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = OrderRepository.class))
+    static class JpaConfig {
+
+        @Bean(destroyMethod = "close")
+        HikariDataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:orders-bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+            dataSource.setUsername("sa");
+            return dataSource;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(SupplyOrder.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of(
+                    "hibernate.hbm2ddl.auto", "create-drop",
+                    "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                    "hibernate.jdbc.batch_size", "50",
+                    "hibernate.order_inserts", "true"));
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
@@ -5,19 +5,25 @@ const API_GATEWAY_URL = process.env.API_GATEWAY_URL ?? "http://localhost:8082";
 async function toClientResponse(response: Response): Promise<NextResponse> {
   const body = await response.text();
   const contentType = response.headers.get("content-type") ?? "application/json";
+  const nextCursor = response.headers.get("x-next-cursor");
 
   return new NextResponse(body, {
     status: response.status,
-    headers: { "content-type": contentType },
+    headers: {
+      "content-type": contentType,
+      ...(nextCursor ? { "x-next-cursor": nextCursor } : {}),
+    },
   });
 }
 
 export async function GET(request: NextRequest) {
   try {
-    const status = request.nextUrl.searchParams.get("status");
     const url = new URL("/api/orders", API_GATEWAY_URL);
-    if (status) {
-      url.searchParams.set("status", status);
+    for (const param of ["status", "cursor", "limit"]) {
+      const value = request.nextUrl.searchParams.get(param);
+      if (value) {
+        url.searchParams.set(param, value);
+      }
     }
 
     const authHeader = request.headers.get("authorization");
@@ -0,0 +1,42 @@
+import { NextRequest, NextResponse } from "next/server";
+
+const API_GATEWAY_URL = process.env.API_GATEWAY_URL ?? "http://localhost:8082";
+
+// Server-Sent Events are passed through as they arrive, never buffered
+export const dynamic = "force-dynamic";
+
+export async function GET(request: NextRequest) {
+  try {
+    const url = new URL("/api/orders/stream", API_GATEWAY_URL);
+    for (const param of ["status", "orderId"]) {
+      for (const value of request.nextUrl.searchParams.getAll(param)) {
+        url.searchParams.append(param, value);
+      }
+    }
+
+    const authHeader = request.headers.get("authorization");
+    const lastEventId = request.headers.get("last-event-id");
+    const response = await fetch(url.toString(), {
+      cache: "no-store",
+      signal: request.signal,
+      headers: {
+        Accept: "text/event-stream",
+        ...(authHeader ? { Authorization: authHeader } : {}),
+        ...(lastEventId ? { "Last-Event-ID": lastEventId } : {}),
+      },
+    });
+
+    return new NextResponse(response.body, {
+      status: response.status,
+      headers: {
+        "content-type": response.headers.get("content-type") ?? "text/event-stream",
+        "cache-control": "no-cache",
+      },
+    });
+  } catch {
+    return NextResponse.json(
+      { error: "Backend service unavailable." },
+      { status: 502 },
+    );
+  }
+}
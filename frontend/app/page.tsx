@@ -1,6 +1,6 @@
 "use client";
 
-import { FormEvent, useCallback, useEffect, useMemo, useState } from "react";
+import { FormEvent, useCallback, useEffect, useMemo, useRef, useState } from "react";
 
 type OrderStatus = "PENDING" | "PROCESSING" | "SHIPPED" | "CANCELLED";
 
@@ -13,6 +13,16 @@ type SupplyOrder = {
   updatedAt: string;
 };
 
+// One event from GET /api/orders/stream; itemName and quantity only on ORDER_PLACED
+type OrderStreamEvent = {
+  type: "ORDER_PLACED" | "ORDER_STATUS_UPDATE";
+  orderId: number;
+  itemName: string | null;
+  quantity: number | null;
+  status: OrderStatus;
+  occurredAt: number;
+};
+
 type LoginResponse = {
   token: string;
   tokenType: string;
@@ -21,6 +31,15 @@ type LoginResponse = {
 
 const STATUSES: OrderStatus[] = ["PENDING", "PROCESSING", "SHIPPED", "CANCELLED"];
 
+const STREAM_RETRY_MS = 2000;
+
+// Replaces the order if it is listed, otherwise appends it (the list is oldest first)
+function upsertOrder(orders: SupplyOrder[], order: SupplyOrder): SupplyOrder[] {
+  return orders.some((o) => o.id === order.id)
+    ? orders.map((o) => (o.id === order.id ? order : o))
+    : [...orders, order];
+}
+
 export default function Home() {
   const [username, setUsername] = useState("admin");
   const [password, setPassword] = useState("admin123");
@@ -40,6 +59,10 @@ export default function Home() {
   const [error, setError] = useState<string | null>(null);
 
   const hasOrders = useMemo(() => orders.length > 0, [orders]);
+  const ordersRef = useRef(orders);
+  useEffect(() => {
+    ordersRef.current = orders;
+  }, [orders]);
 
   const loadOrders = useCallback(async (nextFilter: "ALL" | OrderStatus, authToken: string) => {
     setLoading(true);
@@ -67,6 +90,107 @@ export default function Home() {
     }
   }, []);
 
+  // Live updates: new orders and status changes are pushed over Server-Sent Events
+  // instead of re-fetching the list. EventSource cannot send the bearer token, so the
+  // stream is read with fetch; after a drop it reconnects with Last-Event-ID.
+  useEffect(() => {
+    if (!token) return;
+    const controller = new AbortController();
+    let lastEventId: string | null = null;
+
+    const showOrder = (order: SupplyOrder) => {
+      setOrders((current) => upsertOrder(current, order));
+      setDraftStatuses((current) => ({ ...current, [order.id]: order.status }));
+    };
+
+    const applyEvent = async (event: OrderStreamEvent) => {
+      const at = new Date(event.occurredAt).toISOString();
+      const listed = ordersRef.current.find((o) => o.id === event.orderId);
+      if (filterStatus !== "ALL" && event.status !== filterStatus) {
+        setOrders((current) => current.filter((o) => o.id !== event.orderId));
+      } else if (listed) {
+        showOrder({ ...listed, status: event.status, updatedAt: at });
+      } else if (event.type === "ORDER_PLACED") {
+        showOrder({
+          id: event.orderId,
+          itemName: event.itemName ?? "",
+          quantity: event.quantity ?? 0,
+          status: event.status,
+          createdAt: at,
+          updatedAt: at,
+        });
+      } else {
+        // Moved into the filtered status: fetch just that order
+        const response = await fetch(`/api/orders/${event.orderId}`, {
+          cache: "no-store",
+          headers: { Authorization: `Bearer ${token}` },
+        });
+        if (response.ok) {
+          showOrder(await response.json());
+        }
+      }
+    };
+
+    const handleFrame = (frame: string) => {
+      let name = "message";
+      const data: string[] = [];
+      for (const line of frame.split("\n")) {
+        const colon = line.indexOf(":");
+        if (colon <= 0) continue; // blank line or ": keep-alive" comment
+        const field = line.slice(0, colon);
+        const value = line.slice(colon + 1).replace(/^ /, "");
+        if (field === "id") lastEventId = value;
+        else if (field === "event") name = value;
+        else if (field === "data") data.push(value);
+      }
+      if (name === "reset") {
+        void loadOrders(filterStatus, token);
+      } else if (data.length > 0) {
+        void applyEvent(JSON.parse(data.join("\n")) as OrderStreamEvent);
+      }
+    };
+
+    const stream = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          const query = filterStatus === "ALL" ? "" : `?status=${filterStatus}`;
+          const response = await fetch(`/api/orders/stream${query}`, {
+            cache: "no-store",
+            signal: controller.signal,
+            headers: {
+              Authorization: `Bearer ${token}`,
+              ...(lastEventId ? { "Last-Event-ID": lastEventId } : {}),
+            },
+          });
+          if (response.status === 401 || response.status === 403) {
+            setError("Session expired. Please log in again.");
+            return;
+          }
+          if (response.ok && response.body) {
+            const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+            let buffer = "";
+            for (;;) {
+              const { value, done } = await reader.read();
+              if (done) break;
+              buffer += value;
+              let end: number;
+              while ((end = buffer.indexOf("\n\n")) >= 0) {
+                handleFrame(buffer.slice(0, end));
+                buffer = buffer.slice(end + 2);
+              }
+            }
+          }
+        } catch {
+          // Dropped or aborted; retried below unless aborted
+        }
+        await new Promise((resolve) => setTimeout(resolve, STREAM_RETRY_MS));
+      }
+    };
+
+    void stream();
+    return () => controller.abort();
+  }, [token, filterStatus, loadOrders]);
+
   useEffect(() => {
     const savedToken = window.localStorage.getItem("supply-auth-token");
     if (savedToken) {
@@ -138,9 +262,13 @@ export default function Home() {
         throw new Error("Could not create order.");
       }
 
+      const created: SupplyOrder = await response.json();
       setItemName("");
       setQuantity("1");
-      await loadOrders(filterStatus, token);
+      if (filterStatus === "ALL" || created.status === filterStatus) {
+        setOrders((current) => upsertOrder(current, created));
+        setDraftStatuses((current) => ({ ...current, [created.id]: created.status }));
+      }
     } catch (e) {
       setError(e instanceof Error ? e.message : "Something went wrong.");
     } finally {
@@ -169,10 +297,20 @@ export default function Home() {
         if (response.status === 401 || response.status === 403) {
           throw new Error("Session expired. Please log in again.");
         }
+        if (response.status === 409) {
+          await loadOrders(filterStatus, token);
+          throw new Error("That status change is no longer allowed. The order list has been refreshed.");
+        }
         throw new Error("Could not update order status.");
       }
 
-      await loadOrders(filterStatus, token);
+      // The stream delivers the same change; applying the response just shows it sooner
+      const updated: SupplyOrder = await response.json();
+      setOrders((current) =>
+        filterStatus === "ALL" || updated.status === filterStatus
+          ? upsertOrder(current, updated)
+          : current.filter((o) => o.id !== updated.id),
+      );
     } catch (e) {
       setError(e instanceof Error ? e.message : "Something went wrong.");
     } finally {